@@ -0,0 +1,62 @@
+package net.romeuepote.zombiedelava;
+
+import net.minecraft.resources.ResourceLocation;
+import net.romeuepote.zombiedelava.util.RegistryIdSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// The registry-dependent part of a config reload, with a map standing in for the item registry, and the membership
+// check tick code does against the compiled set.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigReloadBenchmark {
+    @Param({"8", "256"})
+    public int entries;
+
+    private final Map<ResourceLocation, Integer> registry = new HashMap<>();
+    private List<String> names;
+    private RegistryIdSet compiled;
+    private int probe;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < 2048; i++) {
+            registry.put(ResourceLocation.fromNamespaceAndPath("minecraft", "item_" + i), i);
+        }
+        names = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            names.add("minecraft:item_" + (i * 7 % 2048));
+        }
+        compiled = reload();
+    }
+
+    @Benchmark
+    public RegistryIdSet reload() {
+        return RegistryIdSet.compile(names, location -> registry.getOrDefault(location, -1));
+    }
+
+    @Benchmark
+    public boolean contains() {
+        probe = (probe + 1) & 2047;
+        return compiled.contains(probe);
+    }
+}
@@ -0,0 +1,142 @@
+package net.romeuepote.zombiedelava.horde;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Target selection for a horde around a base: one range query per group (what HordeCoordinator does) against one range
+// query per zombie (what per-mob target goals do). Both go through HordeGroups and HordeTargeting, the code the
+// coordinator runs; only the entity query is modelled, as a linear filter over all entities.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HordeTargetingBenchmark {
+    private static final double RANGE = 35.0;
+    private static final double HALF_WIDTH = 0.3;
+    private static final double HEIGHT = 1.95;
+
+    @Param({"50", "300"})
+    public int zombies;
+
+    @Param({"16"})
+    public int groupSize;
+
+    // priority 0 stands for players, 1 for villagers and golems, 2 for baby turtles; the horde itself never targets.
+    record Point(double x, double y, double z, int priority) {
+        long cellKey() {
+            return ((long) Math.floor(x) >> 4) << 42 | (((long) Math.floor(z) >> 4) & 0x1FFFFF) << 20 | (((long) Math.floor(y) >> 4) & 0xFFFFF);
+        }
+
+        double distanceSqr(Point other) {
+            double dx = x - other.x;
+            double dy = y - other.y;
+            double dz = z - other.z;
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+    // Stands in for the coordinator's rules; canTarget models the TargetingConditions range check.
+    static final class PointRules implements HordeTargeting.Rules<Point, Point> {
+        @Override
+        public int priority(Point candidate) {
+            return candidate.priority();
+        }
+
+        @Override
+        public double distanceSqr(Point member, Point candidate) {
+            return member.distanceSqr(candidate);
+        }
+
+        @Override
+        public boolean canTarget(Point member, Point candidate) {
+            return candidate.priority() >= 0 && member.distanceSqr(candidate) <= RANGE * RANGE;
+        }
+    }
+
+    private final HordeGroups<Point> groups = new HordeGroups<>();
+    private final HordeTargeting<Point, Point> targeting = new HordeTargeting<>(new PointRules());
+    private final List<Point> inRange = new ArrayList<>();
+    private List<Point> horde;
+    private List<Point> entities;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        horde = new ArrayList<>();
+        for (int i = 0; i < zombies; i++) {
+            horde.add(new Point(random.nextGaussian() * 24, 64 + random.nextInt(8), random.nextGaussian() * 24, -1));
+        }
+        // Players, villagers, golems and turtles plus the horde itself, which a real entity query would also walk over.
+        entities = new ArrayList<>(horde);
+        for (int i = 0; i < 40; i++) {
+            entities.add(new Point(random.nextGaussian() * 40, 64, random.nextGaussian() * 40, random.nextInt(3)));
+        }
+    }
+
+    @Benchmark
+    public int grouped() {
+        groups.rebuild(horde, Point::cellKey, groupSize);
+        int assigned = 0;
+        for (int g = 0; g < groups.size(); g++) {
+            List<Point> group = groups.group(g);
+            targeting.reset();
+            for (Point member : group) {
+                include(member);
+            }
+            query();
+            for (Point member : group) {
+                if (targeting.select(member, inRange) != null) {
+                    assigned++;
+                }
+            }
+        }
+        return assigned;
+    }
+
+    @Benchmark
+    public int perZombie() {
+        int assigned = 0;
+        for (Point member : horde) {
+            targeting.reset();
+            include(member);
+            query();
+            if (targeting.select(member, inRange) != null) {
+                assigned++;
+            }
+        }
+        return assigned;
+    }
+
+    private void include(Point member) {
+        targeting.include(member.x() - HALF_WIDTH, member.y(), member.z() - HALF_WIDTH,
+                member.x() + HALF_WIDTH, member.y() + HEIGHT, member.z() + HALF_WIDTH, RANGE);
+    }
+
+    private void query() {
+        inRange.clear();
+        for (Point entity : entities) {
+            if (entity.priority() >= 0
+                    && entity.x() >= targeting.searchMinX() && entity.x() <= targeting.searchMaxX()
+                    && entity.y() >= targeting.searchMinY() && entity.y() <= targeting.searchMaxY()
+                    && entity.z() >= targeting.searchMinZ() && entity.z() <= targeting.searchMaxZ()) {
+                inRange.add(entity);
+            }
+        }
+    }
+}
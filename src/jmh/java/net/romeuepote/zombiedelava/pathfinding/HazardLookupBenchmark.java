@@ -0,0 +1,77 @@
+package net.romeuepote.zombiedelava.pathfinding;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Hazard field lookups as a path search sees them: mostly hits in an area that has already been searched, plus the cost
+// of invalidating around a changed block.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HazardLookupBenchmark {
+    private static final int SIZE = 96;
+    private static final int HEIGHT = 32;
+    private static final int LOOKUPS = 1024;
+    // Stands in for the block state id a real lookup is stamped with.
+    private static final int STAMP = 1;
+
+    private HazardSectionCache cache;
+    private int[] xs;
+    private int[] ys;
+    private int[] zs;
+    private int next;
+
+    @Setup
+    public void setup() {
+        cache = new HazardSectionCache(-64, 24);
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                for (int z = 0; z < SIZE; z++) {
+                    cache.put(x, 32 + y, z, STAMP, (byte) (1 + (x ^ y ^ z) % 20));
+                }
+            }
+        }
+        Random random = new Random(42);
+        xs = new int[LOOKUPS];
+        ys = new int[LOOKUPS];
+        zs = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            xs[i] = random.nextInt(SIZE);
+            ys[i] = 32 + random.nextInt(HEIGHT);
+            zs[i] = random.nextInt(SIZE);
+        }
+    }
+
+    private int nextIndex() {
+        int i = next;
+        next = (i + 1) & (LOOKUPS - 1);
+        return i;
+    }
+
+    @Benchmark
+    public byte lookup() {
+        int i = nextIndex();
+        return cache.get(xs[i], ys[i], zs[i], STAMP);
+    }
+
+    @Benchmark
+    public void invalidateAndRefill() {
+        int i = nextIndex();
+        cache.invalidateAround(xs[i], ys[i], zs[i]);
+        cache.put(xs[i], ys[i], zs[i], STAMP, (byte) 1);
+    }
+}
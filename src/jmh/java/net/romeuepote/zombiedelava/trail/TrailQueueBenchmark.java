@@ -0,0 +1,90 @@
+package net.romeuepote.zombiedelava.trail;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// One level tick of the trail engine: a horde of zombies walking across a 256x256 area enqueues the blocks it steps on,
+// then the queue expires old trails and applies the new ones into an in-memory world.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrailQueueBenchmark {
+    @Param({"50", "500"})
+    public int zombies;
+
+    @Param({"64", "256"})
+    public int budget;
+
+    private final SyntheticWorld world = new SyntheticWorld();
+    private TrailQueue queue;
+    private int[] xs;
+    private int[] zs;
+    private long now;
+
+    static final class SyntheticWorld implements TrailQueue.TrailWriter {
+        final LongOpenHashSet lava = new LongOpenHashSet();
+
+        @Override
+        public boolean selectChunk(long chunkKey) {
+            return true;
+        }
+
+        @Override
+        public boolean place(long pos) {
+            return lava.add(pos);
+        }
+
+        @Override
+        public void clear(long pos) {
+            lava.remove(pos);
+        }
+
+        @Override
+        public boolean refresh(long pos, int lifetime) {
+            return lava.contains(pos);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        queue = new TrailQueue();
+        world.lava.clear();
+        xs = new int[zombies];
+        zs = new int[zombies];
+        for (int i = 0; i < zombies; i++) {
+            xs[i] = random.nextInt(256);
+            zs[i] = random.nextInt(256);
+        }
+        now = 0;
+    }
+
+    @Benchmark
+    public int tick() {
+        // A walking zombie reaches a new block roughly every four ticks.
+        for (int i = 0; i < zombies; i++) {
+            if (((now + i) & 3) == 0) {
+                xs[i] = (xs[i] + 1) & 255;
+                queue.enqueue(BlockPos.asLong(xs[i], 64, zs[i]));
+            }
+        }
+        return queue.tick(now++, 100, budget, budget, world);
+    }
+}
@@ -0,0 +1,49 @@
+package net.romeuepote.zombiedelava;
+
+import net.minecraftforge.common.ForgeConfigSpec;
+import net.minecraftforge.eventbus.api.listener.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.event.config.ModConfigEvent;
+
+// Client-only settings. Like Config, values are published as one immutable snapshot so render code reads a consistent set.
+@Mod.EventBusSubscriber(modid = ZombieDeLava.MOD_ID, bus = Mod.EventBusSubscriber.Bus.MOD)
+public class ClientConfig {
+    private static final ForgeConfigSpec.Builder BUILDER = new ForgeConfigSpec.Builder();
+
+    private static final ForgeConfigSpec.IntValue GLOW_DISTANCE = BUILDER
+            .comment("Distance in blocks up to which the glowing layer of lava zombies is rendered")
+            .defineInRange("glowDistance", 48, 0, 512);
+
+    private static final ForgeConfigSpec.IntValue PARTICLE_DISTANCE = BUILDER
+            .comment("Distance in blocks up to which lava zombies drip lava particles")
+            .defineInRange("particleDistance", 24, 0, 512);
+
+    private static final ForgeConfigSpec.IntValue PARTICLE_BUDGET = BUILDER
+            .comment("Maximum number of lava zombie and lava trail particles spawned per client tick")
+            .defineInRange("particleBudget", 16, 0, 1024);
+
+    static final ForgeConfigSpec SPEC = BUILDER.build();
+
+    public record Values(double glowDistanceSqr, double particleDistanceSqr, int particleBudget) {
+    }
+
+    private static volatile Values current = read(true);
+
+    public static Values get() {
+        return current;
+    }
+
+    @SubscribeEvent
+    static void onLoad(final ModConfigEvent event) {
+        if (event.getConfig().getSpec() == SPEC) {
+            current = read(false);
+        }
+    }
+
+    private static Values read(boolean defaults) {
+        int glowDistance = defaults ? GLOW_DISTANCE.getDefault() : GLOW_DISTANCE.get();
+        int particleDistance = defaults ? PARTICLE_DISTANCE.getDefault() : PARTICLE_DISTANCE.get();
+        int particleBudget = defaults ? PARTICLE_BUDGET.getDefault() : PARTICLE_BUDGET.get();
+        return new Values((double) glowDistance * glowDistance, (double) particleDistance * particleDistance, particleBudget);
+    }
+}
@@ -1,16 +1,18 @@
 package net.romeuepote.zombiedelava;
 
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.item.Item;
 import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraftforge.eventbus.api.listener.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.config.ModConfigEvent;
 import net.minecraftforge.registries.ForgeRegistries;
+import net.romeuepote.zombiedelava.network.TrailSyncMode;
+import net.romeuepote.zombiedelava.trail.TrailQueue;
+import net.romeuepote.zombiedelava.util.RegistryIdSet;
 
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 
 // An example config class. This is not required, but it's a good idea to have one to keep your config organized.
 // Demonstrates how to use Forge's config APIs
@@ -35,26 +37,138 @@ public class Config {
             .comment("A list of items to log on common setup.")
             .defineListAllowEmpty("items", List.of("minecraft:iron_ingot"), Config::validateItemName);
 
+    private static final ForgeConfigSpec.IntValue TRAIL_BLOCK_BUDGET = BUILDER
+            .comment("Maximum number of lava trail blocks placed per level per tick, 0 stops lava zombies from leaving trails")
+            .defineInRange("trailBlockBudget", 256, 0, 65536);
+
+    private static final ForgeConfigSpec.IntValue TRAIL_DECAY_BUDGET = BUILDER
+            .comment("Maximum number of expired lava trail blocks removed per level per tick")
+            .defineInRange("trailDecayBudget", 256, 1, 65536);
+
+    private static final ForgeConfigSpec.IntValue TRAIL_DECAY_TICKS = BUILDER
+            .comment("How many ticks a lava trail block stays before it is removed")
+            .defineInRange("trailDecayTicks", 100, 1, TrailQueue.MAX_LIFETIME);
+
+    private static final ForgeConfigSpec.ConfigValue<List<? extends String>> TRAIL_EXCLUDED_FLOORS = BUILDER
+            .comment("Blocks that lava zombies never leave a lava trail on top of")
+            .defineListAllowEmpty("trailExcludedFloors", List.of(), Config::validateBlockName);
+
+    private static final ForgeConfigSpec.EnumValue<TrailSyncMode> TRAIL_SYNC_MODE = BUILDER
+            .comment("How lava trail changes reach clients: DELTA sends one compact packet per player per tick,",
+                    "VANILLA falls back to regular block update packets")
+            .defineEnum("trailSyncMode", TrailSyncMode.DELTA);
+
+    private static final ForgeConfigSpec.BooleanValue TRAIL_SYNC_STATS = BUILDER
+            .comment("Whether to periodically log how many bytes per second each player receives for lava trails")
+            .define("trailSyncStats", false);
+
+    private static final ForgeConfigSpec.BooleanValue HAZARD_FIELD_CACHE = BUILDER
+            .comment("Whether lava zombie pathfinding shares a per-level cache of block path types")
+            .define("hazardFieldCache", true);
+
+    private static final ForgeConfigSpec.BooleanValue HAZARD_FIELD_STATS = BUILDER
+            .comment("Whether to periodically log the hit rate of the pathfinding cache")
+            .define("hazardFieldStats", false);
+
+    private static final ForgeConfigSpec.IntValue HORDE_GROUP_SIZE = BUILDER
+            .comment("Maximum number of nearby lava zombies that share one target search")
+            .defineInRange("hordeGroupSize", 16, 1, 256);
+
+    private static final ForgeConfigSpec.IntValue HORDE_QUERY_INTERVAL = BUILDER
+            .comment("How many ticks pass between target searches for each horde group")
+            .defineInRange("hordeQueryInterval", 10, 1, 200);
+
+    private static final ForgeConfigSpec.BooleanValue HORDE_STATS = BUILDER
+            .comment("Whether to periodically log how many entity scans horde targeting saved")
+            .define("hordeStats", false);
+
+    private static final ForgeConfigSpec.IntValue SPAWN_DENSITY = BUILDER
+            .comment("Maximum number of naturally spawned lava zombies per player in a level")
+            .defineInRange("spawnDensity", 4, 0, 256);
+
+    private static final ForgeConfigSpec.IntValue SPAWN_BUDGET = BUILDER
+            .comment("Maximum number of lava zombie spawn attempts per level per tick, 0 disables natural spawning")
+            .defineInRange("spawnBudget", 1, 0, 64);
+
+    private static final ForgeConfigSpec.IntValue IGNITION_TICKS = BUILDER
+            .comment("How many ticks entities hit by a lava zombie burn for")
+            .defineInRange("ignitionTicks", 100, 0, 72000);
+
+    private static final ForgeConfigSpec.IntValue IGNITION_BLOCK_RADIUS = BUILDER
+            .comment("Radius around a lava zombie's victim in which fire can spread to flammable blocks")
+            .defineInRange("ignitionBlockRadius", 1, 0, 4);
+
+    private static final ForgeConfigSpec.IntValue MAX_ENTITY_IGNITIONS_PER_TICK = BUILDER
+            .comment("Maximum number of entities set on fire by lava zombies per level per tick")
+            .defineInRange("maxEntityIgnitionsPerTick", 64, 0, 4096);
+
+    private static final ForgeConfigSpec.IntValue MAX_BLOCK_IGNITIONS_PER_TICK = BUILDER
+            .comment("Maximum number of fire blocks placed by lava zombies per level per tick")
+            .defineInRange("maxBlockIgnitionsPerTick", 16, 0, 4096);
+
     static final ForgeConfigSpec SPEC = BUILDER.build();
 
-    public static boolean logDirtBlock;
-    public static int magicNumber;
-    public static String magicNumberIntroduction;
-    public static Set<Item> items;
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    // Tick code reads this once per use site; it is only ever replaced as a whole, never modified. Before the config file
+    // is loaded it holds the spec's default values, except that the registry lists are empty: their names are only
+    // resolved to registry ids on load.
+    private static volatile ConfigSnapshot current = snapshot(0, true);
+
+    public static ConfigSnapshot get() {
+        return current;
+    }
 
     private static boolean validateItemName(final Object obj) {
         return obj instanceof final String itemName && ForgeRegistries.ITEMS.containsKey(ResourceLocation.tryParse(itemName));
     }
 
+    private static boolean validateBlockName(final Object obj) {
+        return obj instanceof final String blockName && ForgeRegistries.BLOCKS.containsKey(ResourceLocation.tryParse(blockName));
+    }
+
     @SubscribeEvent
     static void onLoad(final ModConfigEvent event) {
-        logDirtBlock = LOG_DIRT_BLOCK.get();
-        magicNumber = MAGIC_NUMBER.get();
-        magicNumberIntroduction = MAGIC_NUMBER_INTRODUCTION.get();
-
-        // convert the list of strings into a set of items
-        items = ITEM_STRINGS.get().stream()
-                .map(itemName -> ForgeRegistries.ITEMS.getValue(ResourceLocation.tryParse(itemName)))
-                .collect(Collectors.toSet());
+        if (event.getConfig().getSpec() != SPEC) {
+            return;
+        }
+        ConfigSnapshot snapshot = snapshot(GENERATION.incrementAndGet(), false);
+        current = snapshot;
+        ZombieDeLava.LOGGER.debug("Loaded config generation {} in {} us", snapshot.generation(), snapshot.reloadNanos() / 1000);
+    }
+
+    // reloadNanos is measured in the last argument, so it covers reading every value and compiling the registry lists.
+    private static ConfigSnapshot snapshot(long generation, boolean defaults) {
+        long start = System.nanoTime();
+        return new ConfigSnapshot(
+                generation,
+                value(LOG_DIRT_BLOCK, defaults),
+                value(MAGIC_NUMBER, defaults),
+                value(MAGIC_NUMBER_INTRODUCTION, defaults),
+                // convert the lists of strings into registry id bitsets
+                defaults ? RegistryIdSet.EMPTY : RegistryIdSet.compile(ITEM_STRINGS.get(), BuiltInRegistries.ITEM),
+                value(TRAIL_BLOCK_BUDGET, defaults),
+                value(TRAIL_DECAY_BUDGET, defaults),
+                value(TRAIL_DECAY_TICKS, defaults),
+                defaults ? RegistryIdSet.EMPTY : RegistryIdSet.compile(TRAIL_EXCLUDED_FLOORS.get(), BuiltInRegistries.BLOCK),
+                value(TRAIL_SYNC_MODE, defaults),
+                value(TRAIL_SYNC_STATS, defaults),
+                value(HAZARD_FIELD_CACHE, defaults),
+                value(HAZARD_FIELD_STATS, defaults),
+                value(HORDE_GROUP_SIZE, defaults),
+                value(HORDE_QUERY_INTERVAL, defaults),
+                value(HORDE_STATS, defaults),
+                value(SPAWN_DENSITY, defaults),
+                value(SPAWN_BUDGET, defaults),
+                value(IGNITION_TICKS, defaults),
+                value(IGNITION_BLOCK_RADIUS, defaults),
+                value(MAX_ENTITY_IGNITIONS_PER_TICK, defaults),
+                value(MAX_BLOCK_IGNITIONS_PER_TICK, defaults),
+                System.nanoTime() - start);
+    }
+
+    // Until the config file has been loaded, fall back to the spec's defaults.
+    private static <T> T value(ForgeConfigSpec.ConfigValue<T> value, boolean defaults) {
+        return defaults ? value.getDefault() : value.get();
     }
 }
@@ -0,0 +1,34 @@
+package net.romeuepote.zombiedelava;
+
+import net.romeuepote.zombiedelava.network.TrailSyncMode;
+import net.romeuepote.zombiedelava.util.RegistryIdSet;
+
+// An immutable view of the common config. Config publishes a new one on every (re)load with a single volatile write,
+// so code that reads Config.get() once sees a consistent set of values even while the file is being reloaded.
+// generation counts the loads so far and reloadNanos is how long building this snapshot took, from reading the values
+// to compiling the registry lists.
+public record ConfigSnapshot(
+        long generation,
+        boolean logDirtBlock,
+        int magicNumber,
+        String magicNumberIntroduction,
+        RegistryIdSet items,
+        int trailBlockBudget,
+        int trailDecayBudget,
+        int trailDecayTicks,
+        RegistryIdSet trailExcludedFloors,
+        TrailSyncMode trailSyncMode,
+        boolean trailSyncStats,
+        boolean hazardFieldCache,
+        boolean hazardFieldStats,
+        int hordeGroupSize,
+        int hordeQueryInterval,
+        boolean hordeStats,
+        int spawnDensity,
+        int spawnBudget,
+        int ignitionTicks,
+        int ignitionBlockRadius,
+        int maxEntityIgnitionsPerTick,
+        int maxBlockIgnitionsPerTick,
+        long reloadNanos) {
+}
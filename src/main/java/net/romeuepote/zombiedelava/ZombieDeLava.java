@@ -5,6 +5,7 @@ import org.slf4j.Logger;
 import com.mojang.logging.LogUtils;
 
 import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.EntityRenderersEvent;
 import net.minecraftforge.event.BuildCreativeModeTabContentsEvent;
 import net.minecraftforge.eventbus.api.listener.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
@@ -12,6 +13,20 @@ import net.minecraftforge.fml.config.ModConfig;
 import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
+import net.romeuepote.zombiedelava.client.ClientTrailOverlay;
+import net.romeuepote.zombiedelava.client.LavaZombieDrips;
+import net.romeuepote.zombiedelava.client.LavaZombieRenderer;
+import net.romeuepote.zombiedelava.client.ParticleBudget;
+import net.romeuepote.zombiedelava.entity.ModEntities;
+import net.romeuepote.zombiedelava.horde.HordeCoordinator;
+import net.romeuepote.zombiedelava.ignition.FlammabilityTable;
+import net.romeuepote.zombiedelava.ignition.IgnitionSystem;
+import net.romeuepote.zombiedelava.network.ModNetwork;
+import net.romeuepote.zombiedelava.pathfinding.HazardField;
+import net.romeuepote.zombiedelava.profile.ModProfiler;
+import net.romeuepote.zombiedelava.profile.ProfileCommand;
+import net.romeuepote.zombiedelava.spawn.LavaSpawnPipeline;
+import net.romeuepote.zombiedelava.trail.LavaTrailEngine;
 
 // The value here should match an entry in the META-INF/mods.toml file
 @Mod(ZombieDeLava.MOD_ID)
@@ -24,6 +39,9 @@ public final class ZombieDeLava {
     public ZombieDeLava(FMLJavaModLoadingContext context) {
         var modBusGroup = context.getModBusGroup();
 
+        // Register the lava zombie entity type and its attributes
+        ModEntities.register(modBusGroup);
+
         // Register the commonSetup method for modloading
         FMLCommonSetupEvent.getBus(modBusGroup).addListener(this::commonSetup);
         // Register the item to a creative tab
@@ -31,9 +49,26 @@ public final class ZombieDeLava {
 
         // Register our mod's ForgeConfigSpec so that Forge can create and load the config file for us
         context.registerConfig(ModConfig.Type.COMMON, Config.SPEC);
+        context.registerConfig(ModConfig.Type.CLIENT, ClientConfig.SPEC);
     }
 
     private void commonSetup(final FMLCommonSetupEvent event) {
+        // Packets for syncing lava trails to clients
+        ModNetwork.register();
+
+        // Server-side subsystems that hook into the level tick
+        LavaTrailEngine.register();
+        HazardField.register();
+        HordeCoordinator.register();
+        LavaSpawnPipeline.register();
+        IgnitionSystem.register();
+
+        // /zlava profile, for timing the handlers above
+        ModProfiler.register();
+        ProfileCommand.register();
+
+        // The block registry is frozen by now, so the flammability of every block state can be computed up front
+        event.enqueueWork(FlammabilityTable::build);
     }
 
     // Add the example block item to the building blocks tab
@@ -45,7 +80,14 @@ public final class ZombieDeLava {
     public static class ClientModEvents {
         @SubscribeEvent
         public static void onClientSetup(FMLClientSetupEvent event) {
+            ParticleBudget.register();
+            ClientTrailOverlay.register();
+            LavaZombieDrips.register();
+        }
 
+        @SubscribeEvent
+        public static void registerRenderers(EntityRenderersEvent.RegisterRenderers event) {
+            event.registerEntityRenderer(ModEntities.LAVA_ZOMBIE.get(), LavaZombieRenderer::new);
         }
     }
 }
@@ -0,0 +1,18 @@
+package net.romeuepote.zombiedelava.client;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.romeuepote.zombiedelava.network.TrailDeltaPacket;
+
+// Client-side halves of the mod's packet handlers. Packet classes are loaded on both sides, so they only reach into
+// client code through this class, and only after checking the dist.
+public final class ClientPacketHandlers {
+    private ClientPacketHandlers() {
+    }
+
+    public static void handleTrailDelta(TrailDeltaPacket packet) {
+        for (TrailDeltaPacket.Section section : packet.sections()) {
+            ClientTrailOverlay.apply(section.sectionPos(), new FriendlyByteBuf(Unpooled.wrappedBuffer(section.payload())));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package net.romeuepote.zombiedelava.client;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.romeuepote.zombiedelava.ClientConfig;
+import net.romeuepote.zombiedelava.network.TrailDeltaCodec;
+
+import java.util.Iterator;
+
+// Client copy of the lava trails the server sent through TrailDeltaPacket. Applying a delta writes the trail blocks into
+// the client level directly (the server skips the vanilla block update for them), and the remaining lifetime of each
+// cell drives the heat shimmer above fresh trails.
+public final class ClientTrailOverlay {
+    private static final BlockState TRAIL = Blocks.LAVA.defaultBlockState();
+    private static final BlockState EMPTY = Blocks.AIR.defaultBlockState();
+    // Same flags vanilla uses when applying a server block update.
+    private static final int FLAGS = Block.UPDATE_ALL | Block.UPDATE_KNOWN_SHAPE;
+
+    private static final Long2LongOpenHashMap EXPIRY = new Long2LongOpenHashMap();
+    private static final BlockPos.MutableBlockPos CURSOR = new BlockPos.MutableBlockPos();
+
+    private ClientTrailOverlay() {
+    }
+
+    public static void register() {
+        TickEvent.ClientTickEvent.Post.BUS.addListener(event -> tick());
+        LevelEvent.Unload.BUS.addListener(event -> {
+            if (event.getLevel().isClientSide()) {
+                EXPIRY.clear();
+            }
+        });
+    }
+
+    public static void apply(long sectionPos, FriendlyByteBuf payload) {
+        ClientLevel level = Minecraft.getInstance().level;
+        if (level == null) {
+            return;
+        }
+        int originX = SectionPos.sectionToBlockCoord(SectionPos.x(sectionPos));
+        int originY = SectionPos.sectionToBlockCoord(SectionPos.y(sectionPos));
+        int originZ = SectionPos.sectionToBlockCoord(SectionPos.z(sectionPos));
+        long now = level.getGameTime();
+        TrailDeltaCodec.read(payload, (cell, age) -> {
+            CURSOR.set(originX + (cell & 15), originY + (cell >> 8), originZ + (cell >> 4 & 15));
+            BlockState current = level.getBlockState(CURSOR);
+            if (age > 0) {
+                if (current.isAir()) {
+                    level.setServerVerifiedBlockState(CURSOR, TRAIL, FLAGS);
+                }
+                EXPIRY.put(CURSOR.asLong(), now + (long) age * TrailDeltaCodec.AGE_UNIT);
+            } else {
+                if (current.is(Blocks.LAVA) && current.getFluidState().isSource()) {
+                    level.setServerVerifiedBlockState(CURSOR, EMPTY, FLAGS);
+                }
+                EXPIRY.remove(CURSOR.asLong());
+            }
+        });
+    }
+
+    private static void tick() {
+        Minecraft minecraft = Minecraft.getInstance();
+        ClientLevel level = minecraft.level;
+        if (level == null || EXPIRY.isEmpty() || minecraft.player == null) {
+            return;
+        }
+        long now = level.getGameTime();
+        double maxDistanceSqr = ClientConfig.get().particleDistanceSqr();
+        RandomSource random = level.getRandom();
+        for (Iterator<Long2LongMap.Entry> it = EXPIRY.long2LongEntrySet().iterator(); it.hasNext(); ) {
+            Long2LongMap.Entry entry = it.next();
+            if (entry.getLongValue() <= now) {
+                it.remove();
+                continue;
+            }
+            long pos = entry.getLongKey();
+            double x = BlockPos.getX(pos) + 0.5;
+            double y = BlockPos.getY(pos) + 1.0;
+            double z = BlockPos.getZ(pos) + 0.5;
+            if (random.nextInt(20) == 0 && minecraft.player.distanceToSqr(x, y, z) <= maxDistanceSqr && ParticleBudget.tryAcquire()) {
+                level.addParticle(ParticleTypes.SMOKE, x + random.nextDouble() - 0.5, y, z + random.nextDouble() - 0.5, 0.0, 0.04, 0.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package net.romeuepote.zombiedelava.client;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.util.RandomSource;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.romeuepote.zombiedelava.entity.LavaZombie;
+
+// Dripping lava under the lava zombies the renderer drew within particle distance since the last client tick. Emitting
+// from the client tick rather than the render pass keeps the rate independent of FPS, and keeps the entity free of
+// client-only code.
+public final class LavaZombieDrips {
+    private static final ReferenceOpenHashSet<LavaZombie> VISIBLE = new ReferenceOpenHashSet<>();
+
+    private LavaZombieDrips() {
+    }
+
+    public static void register() {
+        TickEvent.ClientTickEvent.Post.BUS.addListener(event -> tick());
+        LevelEvent.Unload.BUS.addListener(event -> {
+            if (event.getLevel().isClientSide()) {
+                VISIBLE.clear();
+            }
+        });
+    }
+
+    static void markVisible(LavaZombie zombie) {
+        VISIBLE.add(zombie);
+    }
+
+    private static void tick() {
+        if (VISIBLE.isEmpty()) {
+            return;
+        }
+        if (!Minecraft.getInstance().isPaused()) {
+            for (LavaZombie zombie : VISIBLE) {
+                RandomSource random = zombie.getRandom();
+                // About five drips a second per visible zombie, within the shared per-tick particle budget.
+                if (!zombie.isRemoved() && random.nextInt(4) == 0 && ParticleBudget.tryAcquire()) {
+                    zombie.level().addParticle(ParticleTypes.DRIPPING_LAVA, zombie.getRandomX(0.5), zombie.getRandomY(), zombie.getRandomZ(0.5), 0.0, 0.0, 0.0);
+                }
+            }
+        }
+        VISIBLE.clear();
+    }
+}
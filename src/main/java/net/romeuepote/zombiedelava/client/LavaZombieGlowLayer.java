@@ -0,0 +1,34 @@
+package net.romeuepote.zombiedelava.client;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import net.minecraft.client.model.ZombieModel;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.entity.RenderLayerParent;
+import net.minecraft.client.renderer.entity.layers.EyesLayer;
+import net.minecraft.client.renderer.entity.state.ZombieRenderState;
+import net.minecraft.resources.ResourceLocation;
+import net.romeuepote.zombiedelava.ClientConfig;
+import net.romeuepote.zombiedelava.ZombieDeLava;
+
+// Full-bright glow drawn over the parent's already baked model. The render type is built once and shared by every
+// lava zombie, and the whole pass is skipped past the configured glow distance.
+public class LavaZombieGlowLayer extends EyesLayer<ZombieRenderState, ZombieModel<ZombieRenderState>> {
+    private static final RenderType GLOW = RenderType.eyes(ResourceLocation.fromNamespaceAndPath(ZombieDeLava.MOD_ID, "textures/entity/lava_zombie_glow.png"));
+
+    public LavaZombieGlowLayer(RenderLayerParent<ZombieRenderState, ZombieModel<ZombieRenderState>> parent) {
+        super(parent);
+    }
+
+    @Override
+    public void render(PoseStack poseStack, MultiBufferSource bufferSource, int packedLight, ZombieRenderState state, float yRot, float xRot) {
+        if (state.distanceToCameraSq <= ClientConfig.get().glowDistanceSqr()) {
+            super.render(poseStack, bufferSource, packedLight, state, yRot, xRot);
+        }
+    }
+
+    @Override
+    public RenderType renderType() {
+        return GLOW;
+    }
+}
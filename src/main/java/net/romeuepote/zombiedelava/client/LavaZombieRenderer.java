@@ -0,0 +1,25 @@
+package net.romeuepote.zombiedelava.client;
+
+import net.minecraft.client.renderer.entity.EntityRendererProvider;
+import net.minecraft.client.renderer.entity.ZombieRenderer;
+import net.minecraft.client.renderer.entity.state.ZombieRenderState;
+import net.minecraft.world.entity.monster.Zombie;
+import net.romeuepote.zombiedelava.ClientConfig;
+import net.romeuepote.zombiedelava.entity.LavaZombie;
+
+public class LavaZombieRenderer extends ZombieRenderer {
+    public LavaZombieRenderer(EntityRendererProvider.Context context) {
+        super(context);
+        this.addLayer(new LavaZombieGlowLayer(this));
+    }
+
+    // Render state extraction only runs for zombies that survived frustum culling, so this is where the particle level of
+    // detail is decided. The particles themselves are spawned by LavaZombieDrips on the client tick.
+    @Override
+    public void extractRenderState(Zombie zombie, ZombieRenderState state, float partialTick) {
+        super.extractRenderState(zombie, state, partialTick);
+        if (zombie instanceof LavaZombie lavaZombie && state.distanceToCameraSq <= ClientConfig.get().particleDistanceSqr()) {
+            LavaZombieDrips.markVisible(lavaZombie);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package net.romeuepote.zombiedelava.client;
+
+import net.minecraftforge.event.TickEvent;
+import net.romeuepote.zombiedelava.ClientConfig;
+
+// A global per-tick allowance of particles for lava zombies and their trails, refilled at the start of every client tick.
+// Only touched from the client thread.
+public final class ParticleBudget {
+    private static int remaining;
+
+    private ParticleBudget() {
+    }
+
+    public static void register() {
+        TickEvent.ClientTickEvent.Pre.BUS.addListener(event -> remaining = ClientConfig.get().particleBudget());
+    }
+
+    public static boolean tryAcquire() {
+        if (remaining <= 0) {
+            return false;
+        }
+        remaining--;
+        return true;
+    }
+}
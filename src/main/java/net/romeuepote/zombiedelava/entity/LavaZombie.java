@@ -0,0 +1,139 @@
+package net.romeuepote.zombiedelava.entity;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.DifficultyInstance;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntitySpawnReason;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.SpawnGroupData;
+import net.minecraft.world.entity.ai.goal.MoveThroughVillageGoal;
+import net.minecraft.world.entity.ai.goal.WaterAvoidingRandomStrollGoal;
+import net.minecraft.world.entity.ai.goal.ZombieAttackGoal;
+import net.minecraft.world.entity.ai.goal.target.HurtByTargetGoal;
+import net.minecraft.world.entity.ai.navigation.PathNavigation;
+import net.minecraft.world.entity.monster.Zombie;
+import net.minecraft.world.entity.monster.ZombifiedPiglin;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.ServerLevelAccessor;
+import net.minecraft.world.level.pathfinder.PathType;
+import net.minecraft.world.level.storage.ValueInput;
+import net.minecraft.world.level.storage.ValueOutput;
+import net.romeuepote.zombiedelava.Config;
+import net.romeuepote.zombiedelava.horde.HordeTargetGoal;
+import net.romeuepote.zombiedelava.ignition.IgnitionSystem;
+import net.romeuepote.zombiedelava.pathfinding.LavaZombieNavigation;
+import net.romeuepote.zombiedelava.profile.ModProfiler;
+import net.romeuepote.zombiedelava.profile.Subsystem;
+import net.romeuepote.zombiedelava.trail.LavaTrailEngine;
+
+public class LavaZombie extends Zombie {
+    private long lastTrailPos = Long.MIN_VALUE;
+    private LivingEntity hordeTarget;
+    private boolean naturalSpawn;
+
+    public LavaZombie(EntityType<? extends LavaZombie> type, Level level) {
+        super(type, level);
+        // Fire and lava cannot hurt us, so there is no reason to path around them.
+        setPathfindingMalus(PathType.LAVA, 0.0F);
+        setPathfindingMalus(PathType.DANGER_FIRE, 0.0F);
+        setPathfindingMalus(PathType.DAMAGE_FIRE, 0.0F);
+    }
+
+    // Natural spawns count towards the spawn density cap; spawner, spawn egg and command spawns do not.
+    public boolean isNaturalSpawn() {
+        return naturalSpawn;
+    }
+
+    @Override
+    public SpawnGroupData finalizeSpawn(ServerLevelAccessor level, DifficultyInstance difficulty, EntitySpawnReason reason, SpawnGroupData data) {
+        naturalSpawn = reason == EntitySpawnReason.NATURAL;
+        return super.finalizeSpawn(level, difficulty, reason, data);
+    }
+
+    @Override
+    protected void addAdditionalSaveData(ValueOutput output) {
+        super.addAdditionalSaveData(output);
+        output.putBoolean("NaturalSpawn", naturalSpawn);
+    }
+
+    @Override
+    protected void readAdditionalSaveData(ValueInput input) {
+        super.readAdditionalSaveData(input);
+        naturalSpawn = input.getBooleanOr("NaturalSpawn", false);
+    }
+
+    @Override
+    protected PathNavigation createNavigation(Level level) {
+        return new LavaZombieNavigation(this, level);
+    }
+
+    // Same goals as a vanilla zombie, except that targets come from the horde instead of per-mob entity scans. The horde
+    // covers the vanilla player, villager, iron golem and baby turtle target goals with their priorities and sight rules.
+    @Override
+    protected void addBehaviourGoals() {
+        this.goalSelector.addGoal(2, new ZombieAttackGoal(this, 1.0, false));
+        this.goalSelector.addGoal(6, new MoveThroughVillageGoal(this, 1.0, true, 4, this::canBreakDoors));
+        this.goalSelector.addGoal(7, new WaterAvoidingRandomStrollGoal(this, 1.0));
+        this.targetSelector.addGoal(1, new HurtByTargetGoal(this).setAlertOthers(ZombifiedPiglin.class));
+        this.targetSelector.addGoal(2, new HordeTargetGoal(this));
+    }
+
+    public void offerHordeTarget(LivingEntity target) {
+        hordeTarget = target;
+    }
+
+    public LivingEntity takeHordeTarget() {
+        LivingEntity target = hordeTarget;
+        hordeTarget = null;
+        return target;
+    }
+
+    @Override
+    public void aiStep() {
+        long start = ModProfiler.start();
+        super.aiStep();
+        if (level() instanceof ServerLevel serverLevel) {
+            ModProfiler.stop(serverLevel, Subsystem.ENTITY_AI, start);
+        }
+    }
+
+    @Override
+    public void tick() {
+        super.tick();
+        if (level() instanceof ServerLevel serverLevel && onGround()) {
+            // Only hand the trail engine a position when we step onto a new block; it does the rest in bulk.
+            BlockPos pos = blockPosition();
+            long packed = pos.asLong();
+            if (packed != lastTrailPos) {
+                long start = ModProfiler.start();
+                lastTrailPos = packed;
+                LavaTrailEngine.enqueue(serverLevel, pos);
+                ModProfiler.stop(serverLevel, Subsystem.ENTITY_HOOKS, start);
+            }
+        }
+    }
+
+    @Override
+    public boolean doHurtTarget(ServerLevel level, Entity target) {
+        boolean hit = super.doHurtTarget(level, target);
+        if (hit) {
+            long start = ModProfiler.start();
+            IgnitionSystem.igniteEntity(level, target, Config.get().ignitionTicks());
+            IgnitionSystem.igniteAround(level, target.blockPosition());
+            ModProfiler.stop(level, Subsystem.ENTITY_HOOKS, start);
+        }
+        return hit;
+    }
+
+    @Override
+    protected boolean isSunSensitive() {
+        return false;
+    }
+
+    @Override
+    protected boolean convertsInWater() {
+        return false;
+    }
+}
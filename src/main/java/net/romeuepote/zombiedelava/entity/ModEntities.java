@@ -0,0 +1,53 @@
+package net.romeuepote.zombiedelava.entity;
+
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.MobCategory;
+import net.minecraft.world.entity.SpawnPlacementTypes;
+import net.minecraft.world.entity.monster.Monster;
+import net.minecraft.world.entity.monster.Zombie;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraftforge.event.entity.EntityAttributeCreationEvent;
+import net.minecraftforge.event.entity.SpawnPlacementRegisterEvent;
+import net.minecraftforge.eventbus.api.bus.BusGroup;
+import net.minecraftforge.registries.DeferredRegister;
+import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraftforge.registries.RegistryObject;
+import net.romeuepote.zombiedelava.ZombieDeLava;
+
+public final class ModEntities {
+    private static final DeferredRegister<EntityType<?>> ENTITY_TYPES = DeferredRegister.create(ForgeRegistries.ENTITY_TYPES, ZombieDeLava.MOD_ID);
+
+    public static final RegistryObject<EntityType<LavaZombie>> LAVA_ZOMBIE = ENTITY_TYPES.register("lava_zombie",
+            () -> EntityType.Builder.of(LavaZombie::new, MobCategory.MONSTER)
+                    .sized(0.6F, 1.95F)
+                    .eyeHeight(1.74F)
+                    .fireImmune()
+                    .clientTrackingRange(8)
+                    .build(key("lava_zombie")));
+
+    private ModEntities() {
+    }
+
+    public static void register(BusGroup modBusGroup) {
+        ENTITY_TYPES.register(modBusGroup);
+        EntityAttributeCreationEvent.getBus(modBusGroup).addListener(ModEntities::createAttributes);
+        SpawnPlacementRegisterEvent.getBus(modBusGroup).addListener(ModEntities::registerSpawnPlacements);
+    }
+
+    private static ResourceKey<EntityType<?>> key(String name) {
+        return ResourceKey.create(Registries.ENTITY_TYPE, ResourceLocation.fromNamespaceAndPath(ZombieDeLava.MOD_ID, name));
+    }
+
+    private static void createAttributes(EntityAttributeCreationEvent event) {
+        event.put(LAVA_ZOMBIE.get(), Zombie.createAttributes().build());
+    }
+
+    // Lava zombies spawn right next to lava, so the usual darkness requirement for monsters does not apply.
+    private static void registerSpawnPlacements(SpawnPlacementRegisterEvent event) {
+        event.register(LAVA_ZOMBIE.get(), SpawnPlacementTypes.ON_GROUND, Heightmap.Types.MOTION_BLOCKING_NO_LEAVES,
+                Monster::checkAnyLightMonsterSpawnRules, SpawnPlacementRegisterEvent.Operation.REPLACE);
+    }
+}
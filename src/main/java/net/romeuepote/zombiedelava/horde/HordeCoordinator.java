@@ -0,0 +1,223 @@
+package net.romeuepote.zombiedelava.horde;
+
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.attributes.Attributes;
+import net.minecraft.world.entity.ai.targeting.TargetingConditions;
+import net.minecraft.world.entity.animal.IronGolem;
+import net.minecraft.world.entity.animal.Turtle;
+import net.minecraft.world.entity.npc.AbstractVillager;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.romeuepote.zombiedelava.Config;
+import net.romeuepote.zombiedelava.ConfigSnapshot;
+import net.romeuepote.zombiedelava.ZombieDeLava;
+import net.romeuepote.zombiedelava.entity.LavaZombie;
+import net.romeuepote.zombiedelava.profile.ModProfiler;
+import net.romeuepote.zombiedelava.profile.Subsystem;
+import net.romeuepote.zombiedelava.util.PerLevel;
+
+import java.util.List;
+
+// Picks targets for lava zombies in groups. Members in the same 16^3 cell share one entity query per interval instead of
+// each running its own NearestAttackableTargetGoal scan; the chosen targets are handed out through HordeTargetGoal.
+public final class HordeCoordinator implements HordeTargeting.Rules<LavaZombie, LivingEntity> {
+    private static final PerLevel<HordeCoordinator> COORDINATORS = new PerLevel<>(HordeCoordinator::new);
+    private static final int STATS_INTERVAL = 1200;
+
+    private final ServerLevel level;
+    private final ReferenceLinkedOpenHashSet<LavaZombie> members = new ReferenceLinkedOpenHashSet<>();
+    private final HordeGroups<LavaZombie> groups = new HordeGroups<>();
+    private final HordeTargeting<LavaZombie, LivingEntity> targeting = new HordeTargeting<>(this);
+    private final TargetingConditions conditions = TargetingConditions.forCombat();
+    private final TargetingConditions unseenConditions = TargetingConditions.forCombat().ignoreLineOfSight();
+
+    private int naturalMembers;
+    private long queries;
+    private long scansAvoided;
+    private long ticks;
+
+    private HordeCoordinator(ServerLevel level) {
+        this.level = level;
+    }
+
+    public static void register() {
+        EntityJoinLevelEvent.BUS.addListener(HordeCoordinator::onEntityJoin);
+        EntityLeaveLevelEvent.BUS.addListener(HordeCoordinator::onEntityLeave);
+        TickEvent.LevelTickEvent.Post.BUS.addListener(HordeCoordinator::onLevelTick);
+        LevelEvent.Unload.BUS.addListener(COORDINATORS::onUnload);
+    }
+
+    // Lava zombies in the level that were spawned naturally, for the spawn density cap.
+    public static int naturalSpawnCount(ServerLevel level) {
+        HordeCoordinator coordinator = COORDINATORS.getIfPresent(level);
+        return coordinator == null ? 0 : coordinator.naturalMembers;
+    }
+
+    private static void onEntityJoin(EntityJoinLevelEvent event) {
+        if (event.getEntity() instanceof LavaZombie zombie && event.getLevel() instanceof ServerLevel level) {
+            long start = ModProfiler.start();
+            HordeCoordinator coordinator = COORDINATORS.get(level);
+            if (coordinator.members.add(zombie) && zombie.isNaturalSpawn()) {
+                coordinator.naturalMembers++;
+            }
+            ModProfiler.stop(level, Subsystem.EVENTS, start);
+        }
+    }
+
+    private static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (event.getEntity() instanceof LavaZombie zombie && event.getLevel() instanceof ServerLevel level) {
+            HordeCoordinator coordinator = COORDINATORS.getIfPresent(level);
+            if (coordinator != null) {
+                long start = ModProfiler.start();
+                if (coordinator.members.remove(zombie) && zombie.isNaturalSpawn()) {
+                    coordinator.naturalMembers--;
+                }
+                ModProfiler.stop(level, Subsystem.EVENTS, start);
+            }
+        }
+    }
+
+    private static void onLevelTick(TickEvent.LevelTickEvent.Post event) {
+        if (event.level instanceof ServerLevel level) {
+            HordeCoordinator coordinator = COORDINATORS.getIfPresent(level);
+            if (coordinator != null) {
+                long start = ModProfiler.start();
+                coordinator.tick();
+                ModProfiler.stop(level, Subsystem.HORDE, start);
+            }
+        }
+    }
+
+    private void tick() {
+        ConfigSnapshot config = Config.get();
+        long now = level.getGameTime();
+        int interval = config.hordeQueryInterval();
+        int phase = (int) (now % interval);
+        // Regroup once per interval, then spread the groups' queries over the ticks of the interval.
+        if (phase == 0) {
+            members.removeIf(this::dropIfRemoved);
+            groups.rebuild(members, HordeCoordinator::cellKey, config.hordeGroupSize());
+        }
+        for (int i = phase; i < groups.size(); i += interval) {
+            assignTargets(groups.group(i));
+        }
+        ticks++;
+        if (config.hordeStats() && now % STATS_INTERVAL == 0) {
+            logStats();
+        }
+    }
+
+    private void assignTargets(List<LavaZombie> group) {
+        targeting.reset();
+        for (LavaZombie zombie : group) {
+            if (retargetBelow(zombie) > 0) {
+                AABB box = zombie.getBoundingBox();
+                targeting.include(box.minX, box.minY, box.minZ, box.maxX, box.maxY, box.maxZ, zombie.getAttributeValue(Attributes.FOLLOW_RANGE));
+            }
+        }
+        int seeking = targeting.seeking();
+        if (seeking == 0) {
+            return;
+        }
+
+        AABB search = new AABB(targeting.searchMinX(), targeting.searchMinY(), targeting.searchMinZ(),
+                targeting.searchMaxX(), targeting.searchMaxY(), targeting.searchMaxZ());
+        List<LivingEntity> candidates = level.getEntitiesOfClass(LivingEntity.class, search, HordeCoordinator::isHordeTarget);
+        queries++;
+        scansAvoided += seeking - 1;
+        if (candidates.isEmpty()) {
+            return;
+        }
+        for (LavaZombie zombie : group) {
+            int below = retargetBelow(zombie);
+            if (below > 0) {
+                double followRange = zombie.getAttributeValue(Attributes.FOLLOW_RANGE);
+                conditions.range(followRange);
+                unseenConditions.range(followRange);
+                LivingEntity target = targeting.select(zombie, candidates, below);
+                if (target != null) {
+                    zombie.offerHordeTarget(target);
+                }
+            }
+        }
+    }
+
+    private boolean dropIfRemoved(LavaZombie zombie) {
+        if (!zombie.isRemoved()) {
+            return false;
+        }
+        if (zombie.isNaturalSpawn()) {
+            naturalMembers--;
+        }
+        return true;
+    }
+
+    private static long cellKey(LavaZombie zombie) {
+        BlockPos pos = zombie.blockPosition();
+        return SectionPos.asLong(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getY()), SectionPos.blockToSectionCoord(pos.getZ()));
+    }
+
+    // Offered targets must have a priority below this: any target for a zombie without one, and only a preferred kind
+    // (a player over a villager) for one chasing a horde target, the way a higher-priority vanilla target goal
+    // interrupts a lower one. 0 means nothing can be offered, e.g. to a zombie already chasing a player or one that is
+    // fighting back at something that hurt it.
+    private int retargetBelow(LavaZombie zombie) {
+        if (zombie.isRemoved() || zombie.isNoAi()) {
+            return 0;
+        }
+        LivingEntity target = zombie.getTarget();
+        if (target == null || !target.isAlive()) {
+            return Integer.MAX_VALUE;
+        }
+        return isHordeTarget(target) ? priority(target) : 0;
+    }
+
+    private static boolean isHordeTarget(LivingEntity entity) {
+        return entity instanceof Player || entity instanceof AbstractVillager || entity instanceof IronGolem
+                || entity instanceof Turtle turtle && turtle.isBaby() && !turtle.isInWater();
+    }
+
+    // Like the vanilla zombie goals, villagers are hunted even when out of sight; every other target has to be seen.
+    public static boolean requiresSight(LivingEntity target) {
+        return !(target instanceof AbstractVillager);
+    }
+
+    // Same preference as the vanilla zombie goals: the nearest player first, then the nearest villager or golem, and
+    // baby turtles on land only when there is nothing else. A zombie chasing a lower-priority target is offered a better
+    // one when it turns up (see retargetBelow).
+    @Override
+    public int priority(LivingEntity candidate) {
+        if (candidate instanceof Player) {
+            return 0;
+        }
+        return candidate instanceof Turtle ? 2 : 1;
+    }
+
+    @Override
+    public double distanceSqr(LavaZombie zombie, LivingEntity candidate) {
+        return zombie.distanceToSqr(candidate);
+    }
+
+    // The conditions' range has been set to this zombie's follow range by assignTargets.
+    @Override
+    public boolean canTarget(LavaZombie zombie, LivingEntity candidate) {
+        return (requiresSight(candidate) ? conditions : unseenConditions).test(level, zombie, candidate);
+    }
+
+    private void logStats() {
+        ZombieDeLava.LOGGER.info("Horde {}: {} members in {} groups, {} queries, {} scans avoided per tick",
+                level.dimension().location(), members.size(), groups.size(), queries,
+                String.format("%.2f", ticks == 0 ? 0.0 : (double) scansAvoided / ticks));
+        queries = 0;
+        scansAvoided = 0;
+        ticks = 0;
+    }
+}
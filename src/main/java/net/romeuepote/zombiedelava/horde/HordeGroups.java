@@ -0,0 +1,59 @@
+package net.romeuepote.zombiedelava.horde;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+// Splits a set of members into groups of at most maxGroupSize, keeping members that share a spatial cell together.
+// Group lists are reused between rebuilds, so rebuilding does not allocate once the horde has reached its size.
+public final class HordeGroups<T> {
+    private final Long2ObjectLinkedOpenHashMap<ObjectArrayList<T>> cells = new Long2ObjectLinkedOpenHashMap<>();
+    private final List<ObjectArrayList<T>> groups = new ArrayList<>();
+    private final List<ObjectArrayList<T>> spareCells = new ArrayList<>();
+    private int groupCount;
+
+    public void rebuild(Iterable<T> members, ToLongFunction<T> cellKey, int maxGroupSize) {
+        for (ObjectArrayList<T> cell : cells.values()) {
+            cell.clear();
+            spareCells.add(cell);
+        }
+        cells.clear();
+        for (T member : members) {
+            long key = cellKey.applyAsLong(member);
+            ObjectArrayList<T> cell = cells.get(key);
+            if (cell == null) {
+                cell = spareCells.isEmpty() ? new ObjectArrayList<>() : spareCells.remove(spareCells.size() - 1);
+                cells.put(key, cell);
+            }
+            cell.add(member);
+        }
+
+        groupCount = 0;
+        for (ObjectArrayList<T> cell : cells.values()) {
+            for (int start = 0; start < cell.size(); start += maxGroupSize) {
+                ObjectArrayList<T> group = nextGroup();
+                group.addElements(0, cell.elements(), start, Math.min(maxGroupSize, cell.size() - start));
+            }
+        }
+    }
+
+    private ObjectArrayList<T> nextGroup() {
+        if (groupCount == groups.size()) {
+            groups.add(new ObjectArrayList<>());
+        }
+        ObjectArrayList<T> group = groups.get(groupCount++);
+        group.clear();
+        return group;
+    }
+
+    public int size() {
+        return groupCount;
+    }
+
+    public List<T> group(int index) {
+        return groups.get(index);
+    }
+}
@@ -0,0 +1,68 @@
+package net.romeuepote.zombiedelava.horde;
+
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.goal.target.TargetGoal;
+import net.romeuepote.zombiedelava.entity.LavaZombie;
+
+import java.util.EnumSet;
+
+// Takes over a target picked for this zombie by the HordeCoordinator instead of scanning for one itself, and switches to
+// a better one the coordinator offers while it is chasing.
+public class HordeTargetGoal extends TargetGoal {
+    private final LavaZombie zombie;
+    private LivingEntity target;
+    private int unseenTicks;
+
+    public HordeTargetGoal(LavaZombie zombie) {
+        // Line of sight depends on the kind of target, so it is checked in canContinueToUse instead of by TargetGoal.
+        super(zombie, false);
+        this.zombie = zombie;
+        setFlags(EnumSet.of(Flag.TARGET));
+    }
+
+    @Override
+    public boolean canUse() {
+        target = zombie.takeHordeTarget();
+        return target != null && target.isAlive();
+    }
+
+    @Override
+    public boolean canContinueToUse() {
+        if (!super.canContinueToUse()) {
+            return false;
+        }
+        LivingEntity current = mob.getTarget();
+        if (current != null && HordeCoordinator.requiresSight(current)) {
+            if (mob.getSensing().hasLineOfSight(current)) {
+                unseenTicks = 0;
+            } else if (++unseenTicks > reducedTickDelay(unseenMemoryTicks)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // While this goal runs the coordinator only offers targets it prefers over the current one, so switch right away.
+    @Override
+    public void tick() {
+        LivingEntity offered = zombie.takeHordeTarget();
+        if (offered != null && offered.isAlive()) {
+            target = offered;
+            mob.setTarget(offered);
+            unseenTicks = 0;
+        }
+    }
+
+    @Override
+    public void start() {
+        mob.setTarget(target);
+        unseenTicks = 0;
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        target = null;
+    }
+}
@@ -0,0 +1,112 @@
+package net.romeuepote.zombiedelava.horde;
+
+import java.util.List;
+
+// The Minecraft-independent part of horde targeting: merging the search box of the members that need a target, and
+// picking each member's target by priority, then distance. HordeCoordinator supplies positions and the vanilla checks
+// through Rules; keeping the rest here lets the selection be benchmarked without a level.
+public final class HordeTargeting<M, C> {
+    // How far above and below the group's bounding boxes candidates are searched, like NearestAttackableTargetGoal.
+    public static final double VERTICAL_REACH = 4.0;
+
+    public interface Rules<M, C> {
+        // Lower values are preferred over any distance.
+        int priority(C candidate);
+
+        double distanceSqr(M member, C candidate);
+
+        // The expensive checks (range, line of sight, ...). Only asked for candidates that would improve the pick.
+        boolean canTarget(M member, C candidate);
+    }
+
+    private final Rules<M, C> rules;
+    private double minX;
+    private double minY;
+    private double minZ;
+    private double maxX;
+    private double maxY;
+    private double maxZ;
+    private double range;
+    private int seeking;
+
+    public HordeTargeting(Rules<M, C> rules) {
+        this.rules = rules;
+        reset();
+    }
+
+    public void reset() {
+        minX = minY = minZ = Double.POSITIVE_INFINITY;
+        maxX = maxY = maxZ = Double.NEGATIVE_INFINITY;
+        range = 0.0;
+        seeking = 0;
+    }
+
+    // Adds a member that needs a target: its bounding box and follow range widen the group's search box.
+    public void include(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, double followRange) {
+        this.minX = Math.min(this.minX, minX);
+        this.minY = Math.min(this.minY, minY);
+        this.minZ = Math.min(this.minZ, minZ);
+        this.maxX = Math.max(this.maxX, maxX);
+        this.maxY = Math.max(this.maxY, maxY);
+        this.maxZ = Math.max(this.maxZ, maxZ);
+        range = Math.max(range, followRange);
+        seeking++;
+    }
+
+    public int seeking() {
+        return seeking;
+    }
+
+    public double searchMinX() {
+        return minX - range;
+    }
+
+    public double searchMinY() {
+        return minY - VERTICAL_REACH;
+    }
+
+    public double searchMinZ() {
+        return minZ - range;
+    }
+
+    public double searchMaxX() {
+        return maxX + range;
+    }
+
+    public double searchMaxY() {
+        return maxY + VERTICAL_REACH;
+    }
+
+    public double searchMaxZ() {
+        return maxZ + range;
+    }
+
+    // The best candidate for the member, or null if it cannot target any of them.
+    public C select(M member, List<C> candidates) {
+        return select(member, candidates, Integer.MAX_VALUE);
+    }
+
+    // The best candidate with a priority below the given one, for a member that already has a target of that priority.
+    public C select(M member, List<C> candidates, int belowPriority) {
+        C best = null;
+        int bestPriority = belowPriority - 1;
+        double bestDistance = Double.MAX_VALUE;
+        for (int i = 0, size = candidates.size(); i < size; i++) {
+            C candidate = candidates.get(i);
+            int priority = rules.priority(candidate);
+            if (priority > bestPriority) {
+                continue;
+            }
+            double distance = rules.distanceSqr(member, candidate);
+            if (priority == bestPriority && distance >= bestDistance) {
+                continue;
+            }
+            if (rules.canTarget(member, candidate)) {
+                best = candidate;
+                bestPriority = priority;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+}
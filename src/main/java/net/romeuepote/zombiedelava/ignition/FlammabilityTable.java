@@ -0,0 +1,39 @@
+package net.romeuepote.zombiedelava.ignition;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.EmptyBlockGetter;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.romeuepote.zombiedelava.ZombieDeLava;
+
+// Ignite odds of every block state, indexed by block state id: how likely fire is to appear in an air cell next to the
+// block, i.e. the fire spread speed vanilla's FireBlock.getIgniteOdds uses, not the burn-away flammability. Built once
+// from the registry at common setup so fire spreading never has to ask the block (and, through Forge, possibly the
+// level) again. Blocks that vary their spread speed by face are sampled from above.
+public final class FlammabilityTable {
+    private static byte[] table = new byte[0];
+
+    private FlammabilityTable() {
+    }
+
+    public static void build() {
+        byte[] built = new byte[Block.BLOCK_STATE_REGISTRY.size()];
+        int flammable = 0;
+        for (BlockState state : Block.BLOCK_STATE_REGISTRY) {
+            int value = state.getFireSpreadSpeed(EmptyBlockGetter.INSTANCE, BlockPos.ZERO, Direction.UP);
+            built[Block.getId(state)] = (byte) Math.max(0, Math.min(value, Byte.MAX_VALUE));
+            if (value > 0) {
+                flammable++;
+            }
+        }
+        table = built;
+        ZombieDeLava.LOGGER.debug("Built flammability table: {} of {} block states spread fire", flammable, built.length);
+    }
+
+    // Ignite odds out of 100 for air next to the block (vanilla values, e.g. 30 for wool); 0 means fire never spreads from it.
+    public static int get(BlockState state) {
+        int id = Block.getId(state);
+        return id < table.length ? table[id] : 0;
+    }
+}
@@ -0,0 +1,149 @@
+package net.romeuepote.zombiedelava.ignition;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.GameRules;
+import net.minecraft.world.level.block.BaseFireBlock;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.romeuepote.zombiedelava.Config;
+import net.romeuepote.zombiedelava.ConfigSnapshot;
+import net.romeuepote.zombiedelava.profile.ModProfiler;
+import net.romeuepote.zombiedelava.profile.Subsystem;
+import net.romeuepote.zombiedelava.util.PerLevel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Collects the ignitions caused by lava zombies during a tick and applies them together at the end of the level tick.
+// Entity ignitions are deduped by entity id, block ignitions by position within a per-section grid, and fire only
+// spreads to air next to blocks that the FlammabilityTable says can burn.
+public final class IgnitionSystem {
+    private static final PerLevel<IgnitionSystem> SYSTEMS = new PerLevel<>(IgnitionSystem::new);
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final ServerLevel level;
+    private final Int2IntOpenHashMap pendingEntities = new Int2IntOpenHashMap();
+    private final Long2ObjectOpenHashMap<LongOpenHashSet> pendingBlocks = new Long2ObjectOpenHashMap<>();
+    private final List<LongOpenHashSet> spareCells = new ArrayList<>();
+    private final LongOpenHashSet visited = new LongOpenHashSet();
+    private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+    private final BlockPos.MutableBlockPos neighbour = new BlockPos.MutableBlockPos();
+
+    private IgnitionSystem(ServerLevel level) {
+        this.level = level;
+    }
+
+    public static void register() {
+        TickEvent.LevelTickEvent.Post.BUS.addListener(IgnitionSystem::onLevelTick);
+        LevelEvent.Unload.BUS.addListener(SYSTEMS::onUnload);
+    }
+
+    public static void igniteEntity(ServerLevel level, Entity entity, int ticks) {
+        SYSTEMS.get(level).pendingEntities.mergeInt(entity.getId(), ticks, Math::max);
+    }
+
+    public static void igniteAround(ServerLevel level, BlockPos pos) {
+        IgnitionSystem system = SYSTEMS.get(level);
+        long cellKey = SectionPos.asLong(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getY()), SectionPos.blockToSectionCoord(pos.getZ()));
+        LongOpenHashSet cell = system.pendingBlocks.get(cellKey);
+        if (cell == null) {
+            cell = system.spareCells.isEmpty() ? new LongOpenHashSet() : system.spareCells.remove(system.spareCells.size() - 1);
+            system.pendingBlocks.put(cellKey, cell);
+        }
+        cell.add(pos.asLong());
+    }
+
+    private static void onLevelTick(TickEvent.LevelTickEvent.Post event) {
+        if (event.level instanceof ServerLevel level) {
+            IgnitionSystem system = SYSTEMS.getIfPresent(level);
+            if (system != null) {
+                long start = ModProfiler.start();
+                system.tick();
+                ModProfiler.stop(level, Subsystem.IGNITION, start);
+            }
+        }
+    }
+
+    private void tick() {
+        ConfigSnapshot config = Config.get();
+        if (!pendingEntities.isEmpty()) {
+            applyEntities(config);
+        }
+        if (!pendingBlocks.isEmpty()) {
+            applyBlocks(config);
+        }
+    }
+
+    private void applyEntities(ConfigSnapshot config) {
+        int budget = config.maxEntityIgnitionsPerTick();
+        for (Int2IntMap.Entry entry : pendingEntities.int2IntEntrySet()) {
+            if (budget <= 0) {
+                break;
+            }
+            Entity entity = level.getEntity(entry.getIntKey());
+            if (entity != null && entity.isAlive() && !entity.fireImmune()) {
+                entity.igniteForTicks(entry.getIntValue());
+                budget--;
+            }
+        }
+        // Ignitions over budget are dropped rather than carried over: the next hit will queue them again.
+        pendingEntities.clear();
+    }
+
+    private void applyBlocks(ConfigSnapshot config) {
+        int budget = level.getGameRules().getBoolean(GameRules.RULE_MOBGRIEFING) ? config.maxBlockIgnitionsPerTick() : 0;
+        int radius = config.ignitionBlockRadius();
+        RandomSource random = level.getRandom();
+        for (Long2ObjectMap.Entry<LongOpenHashSet> entry : pendingBlocks.long2ObjectEntrySet()) {
+            LongOpenHashSet cell = entry.getValue();
+            for (LongIterator it = cell.iterator(); it.hasNext() && budget > 0; ) {
+                long origin = it.nextLong();
+                int ox = BlockPos.getX(origin);
+                int oy = BlockPos.getY(origin);
+                int oz = BlockPos.getZ(origin);
+                for (int dx = -radius; dx <= radius && budget > 0; dx++) {
+                    for (int dy = -radius; dy <= radius && budget > 0; dy++) {
+                        for (int dz = -radius; dz <= radius && budget > 0; dz++) {
+                            // Overlapping hits in the same area only look at each block once per tick.
+                            if (visited.add(BlockPos.asLong(ox + dx, oy + dy, oz + dz)) && tryIgnite(cursor.set(ox + dx, oy + dy, oz + dz), random)) {
+                                budget--;
+                            }
+                        }
+                    }
+                }
+            }
+            cell.clear();
+            spareCells.add(cell);
+        }
+        pendingBlocks.clear();
+        visited.clear();
+    }
+
+    private boolean tryIgnite(BlockPos pos, RandomSource random) {
+        if (!level.isLoaded(pos) || !level.getBlockState(pos).isAir()) {
+            return false;
+        }
+        int odds = 0;
+        for (Direction direction : DIRECTIONS) {
+            odds = Math.max(odds, FlammabilityTable.get(level.getBlockState(neighbour.setWithOffset(pos, direction))));
+        }
+        if (odds == 0 || random.nextInt(100) >= odds) {
+            return false;
+        }
+        BlockState fire = BaseFireBlock.getState(level, pos);
+        return fire.canSurvive(level, pos) && level.setBlock(pos, fire, Block.UPDATE_ALL);
+    }
+}
@@ -0,0 +1,27 @@
+package net.romeuepote.zombiedelava.network;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.network.ChannelBuilder;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.SimpleChannel;
+import net.romeuepote.zombiedelava.ZombieDeLava;
+
+public final class ModNetwork {
+    private static final int PROTOCOL_VERSION = 1;
+
+    public static final SimpleChannel CHANNEL = ChannelBuilder
+            .named(ResourceLocation.fromNamespaceAndPath(ZombieDeLava.MOD_ID, "main"))
+            .networkProtocolVersion(PROTOCOL_VERSION)
+            .simpleChannel();
+
+    private ModNetwork() {
+    }
+
+    public static void register() {
+        CHANNEL.messageBuilder(TrailDeltaPacket.class, NetworkDirection.PLAY_TO_CLIENT)
+                .encoder(TrailDeltaPacket::encode)
+                .decoder(TrailDeltaPacket::decode)
+                .consumerMainThread(TrailDeltaPacket::handle)
+                .add();
+    }
+}
@@ -0,0 +1,68 @@
+package net.romeuepote.zombiedelava.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+
+// Wire format of one chunk section's trail changes: the 4096-bit mask of changed cells as alternating varint run lengths
+// (starting with a run of unchanged cells), followed by one age byte per changed cell in cell order. Age 0 means the
+// trail block was removed; otherwise it is the remaining lifetime in units of AGE_UNIT ticks.
+public final class TrailDeltaCodec {
+    public static final int CELLS = 4096;
+    public static final int AGE_UNIT = 8;
+
+    public interface CellConsumer {
+        void accept(int cell, int age);
+    }
+
+    private TrailDeltaCodec() {
+    }
+
+    public static int cellIndex(int x, int y, int z) {
+        return (y & 15) << 8 | (z & 15) << 4 | x & 15;
+    }
+
+    public static byte age(int remainingTicks) {
+        return (byte) Math.max(1, Math.min(255, (remainingTicks + AGE_UNIT - 1) / AGE_UNIT));
+    }
+
+    public static void write(FriendlyByteBuf buf, long[] mask, byte[] ages) {
+        boolean set = false;
+        int run = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            boolean bit = (mask[cell >>> 6] & 1L << cell) != 0;
+            if (bit != set) {
+                buf.writeVarInt(run);
+                set = bit;
+                run = 0;
+            }
+            run++;
+        }
+        buf.writeVarInt(run);
+        for (int word = 0; word < mask.length; word++) {
+            for (long bits = mask[word]; bits != 0; bits &= bits - 1) {
+                buf.writeByte(ages[word << 6 | Long.numberOfTrailingZeros(bits)]);
+            }
+        }
+    }
+
+    public static void read(FriendlyByteBuf buf, CellConsumer consumer) {
+        long[] mask = new long[CELLS / 64];
+        boolean set = false;
+        for (int cell = 0; cell < CELLS; set = !set) {
+            int run = buf.readVarInt();
+            if (run < 0 || run > CELLS - cell) {
+                throw new IllegalArgumentException("Malformed trail delta run of " + run + " at cell " + cell);
+            }
+            if (set) {
+                for (int i = cell; i < cell + run; i++) {
+                    mask[i >>> 6] |= 1L << i;
+                }
+            }
+            cell += run;
+        }
+        for (int word = 0; word < mask.length; word++) {
+            for (long bits = mask[word]; bits != 0; bits &= bits - 1) {
+                consumer.accept(word << 6 | Long.numberOfTrailingZeros(bits), buf.readUnsignedByte());
+            }
+        }
+    }
+}
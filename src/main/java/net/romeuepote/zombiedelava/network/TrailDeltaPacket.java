@@ -0,0 +1,51 @@
+package net.romeuepote.zombiedelava.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.VarInt;
+import net.minecraftforge.event.network.CustomPayloadEvent;
+import net.minecraftforge.fml.loading.FMLEnvironment;
+import net.romeuepote.zombiedelava.client.ClientPacketHandlers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// All trail changes a player can see from one server tick. Section payloads are encoded once by TrailSync and shared
+// between every player tracking that section.
+public record TrailDeltaPacket(List<Section> sections) {
+    public record Section(long sectionPos, byte[] payload) {
+    }
+
+    public static void encode(TrailDeltaPacket packet, FriendlyByteBuf buf) {
+        buf.writeVarInt(packet.sections.size());
+        for (Section section : packet.sections) {
+            buf.writeLong(section.sectionPos);
+            buf.writeByteArray(section.payload);
+        }
+    }
+
+    public static TrailDeltaPacket decode(FriendlyByteBuf buf) {
+        int count = buf.readVarInt();
+        List<Section> sections = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sections.add(new Section(buf.readLong(), buf.readByteArray()));
+        }
+        return new TrailDeltaPacket(sections);
+    }
+
+    public static void handle(TrailDeltaPacket packet, CustomPayloadEvent.Context context) {
+        // The overlay touches Minecraft and ClientLevel, which must never be loaded on a dedicated server.
+        if (FMLEnvironment.dist.isClient()) {
+            ClientPacketHandlers.handleTrailDelta(packet);
+        }
+        context.setPacketHandled(true);
+    }
+
+    // Encoded size in bytes, not counting the channel's own framing.
+    public int size() {
+        int size = VarInt.getByteSize(sections.size());
+        for (Section section : sections) {
+            size += Long.BYTES + VarInt.getByteSize(section.payload.length) + section.payload.length;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,130 @@
+package net.romeuepote.zombiedelava.network;
+
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.VarInt;
+import net.minecraft.network.VarLong;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.network.PacketDistributor;
+import net.romeuepote.zombiedelava.ZombieDeLava;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+// Collects the trail blocks one level changed during a tick, grouped per chunk section, and sends each tracking player a
+// single TrailDeltaPacket at the end of the tick. In vanilla mode nothing is sent here and block updates go out as usual;
+// the byte counters then hold an estimate of the equivalent ClientboundSectionBlocksUpdatePackets for comparison.
+// Delta mode writes the blocks without UPDATE_CLIENTS so vanilla does not send them as well. That also skips the
+// server-side work of sendBlockUpdated, so LavaTrailEngine has to invalidate the level's PathTypeCache itself.
+public final class TrailSync {
+    private static final int STATS_INTERVAL = 1200;
+
+    private static final class SectionDelta {
+        final long[] mask = new long[TrailDeltaCodec.CELLS / 64];
+        final byte[] ages = new byte[TrailDeltaCodec.CELLS];
+        int changed;
+        int vanillaBytes;
+
+        void clear() {
+            Arrays.fill(mask, 0L);
+            changed = 0;
+            vanillaBytes = 0;
+        }
+    }
+
+    private final ServerLevel level;
+    private final Long2ObjectOpenHashMap<SectionDelta> sections = new Long2ObjectOpenHashMap<>();
+    private final List<SectionDelta> spare = new ArrayList<>();
+    private final Reference2ObjectOpenHashMap<ServerPlayer, List<TrailDeltaPacket.Section>> outgoing = new Reference2ObjectOpenHashMap<>();
+    private final Object2LongOpenHashMap<UUID> bytesPerPlayer = new Object2LongOpenHashMap<>();
+
+    public TrailSync(ServerLevel level) {
+        this.level = level;
+    }
+
+    public void record(BlockPos pos, BlockState state, int remainingTicks) {
+        long key = SectionPos.asLong(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getY()), SectionPos.blockToSectionCoord(pos.getZ()));
+        SectionDelta delta = sections.get(key);
+        if (delta == null) {
+            delta = spare.isEmpty() ? new SectionDelta() : spare.remove(spare.size() - 1);
+            sections.put(key, delta);
+        }
+        int cell = TrailDeltaCodec.cellIndex(pos.getX(), pos.getY(), pos.getZ());
+        delta.ages[cell] = remainingTicks > 0 ? TrailDeltaCodec.age(remainingTicks) : 0;
+        if ((delta.mask[cell >>> 6] & 1L << cell) == 0) {
+            delta.mask[cell >>> 6] |= 1L << cell;
+            delta.changed++;
+            // What vanilla spends on this cell inside a section update: the state id packed with the x/z/y local position.
+            int local = (cell & 15) << 8 | (cell >> 4 & 15) << 4 | cell >> 8 & 15;
+            delta.vanillaBytes += VarLong.getByteSize((long) Block.getId(state) << 12 | local);
+        }
+    }
+
+    public void flush(boolean delta) {
+        if (sections.isEmpty()) {
+            return;
+        }
+        for (Long2ObjectMap.Entry<SectionDelta> entry : sections.long2ObjectEntrySet()) {
+            long key = entry.getLongKey();
+            SectionDelta section = entry.getValue();
+            List<ServerPlayer> players = level.getChunkSource().chunkMap.getPlayers(new ChunkPos(SectionPos.x(key), SectionPos.z(key)), false);
+            if (!players.isEmpty()) {
+                if (delta) {
+                    queue(key, section, players);
+                } else {
+                    // Section position, cell count and packet id on top of the per-cell entries.
+                    int estimate = Long.BYTES + VarInt.getByteSize(section.changed) + 1 + section.vanillaBytes;
+                    for (ServerPlayer player : players) {
+                        bytesPerPlayer.addTo(player.getUUID(), estimate);
+                    }
+                }
+            }
+            section.clear();
+            spare.add(section);
+        }
+        sections.clear();
+        for (Reference2ObjectMap.Entry<ServerPlayer, List<TrailDeltaPacket.Section>> entry : outgoing.reference2ObjectEntrySet()) {
+            TrailDeltaPacket packet = new TrailDeltaPacket(entry.getValue());
+            ModNetwork.CHANNEL.send(packet, PacketDistributor.PLAYER.with(entry.getKey()));
+            bytesPerPlayer.addTo(entry.getKey().getUUID(), packet.size());
+        }
+        outgoing.clear();
+    }
+
+    private void queue(long key, SectionDelta section, List<ServerPlayer> players) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        TrailDeltaCodec.write(buf, section.mask, section.ages);
+        byte[] payload = new byte[buf.readableBytes()];
+        buf.readBytes(payload);
+        TrailDeltaPacket.Section encoded = new TrailDeltaPacket.Section(key, payload);
+        for (ServerPlayer player : players) {
+            outgoing.computeIfAbsent(player, p -> new ArrayList<>()).add(encoded);
+        }
+    }
+
+    public void logStats(boolean delta) {
+        if (level.getGameTime() % STATS_INTERVAL != 0 || bytesPerPlayer.isEmpty()) {
+            return;
+        }
+        for (Object2LongMap.Entry<UUID> entry : bytesPerPlayer.object2LongEntrySet()) {
+            ServerPlayer player = level.getServer().getPlayerList().getPlayer(entry.getKey());
+            ZombieDeLava.LOGGER.info("Trail sync {} ({}): {} bytes/s to {}", level.dimension().location(), delta ? "delta" : "vanilla, estimated",
+                    entry.getLongValue() * 20 / STATS_INTERVAL, player == null ? entry.getKey() : player.getGameProfile().getName());
+        }
+        bytesPerPlayer.clear();
+    }
+}
@@ -0,0 +1,8 @@
+package net.romeuepote.zombiedelava.network;
+
+public enum TrailSyncMode {
+    // One TrailDeltaPacket per player per tick, applied by the client's trail overlay.
+    DELTA,
+    // Regular vanilla block update packets.
+    VANILLA
+}
@@ -0,0 +1,106 @@
+package net.romeuepote.zombiedelava.pathfinding;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.pathfinder.PathType;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.romeuepote.zombiedelava.Config;
+import net.romeuepote.zombiedelava.ZombieDeLava;
+import net.romeuepote.zombiedelava.profile.ModProfiler;
+import net.romeuepote.zombiedelava.profile.Subsystem;
+import net.romeuepote.zombiedelava.util.PerLevel;
+
+// Per-level cache of the PathType every lava zombie's node evaluator computes for a block. The type only depends on
+// block states, so one cache can be shared by the whole horde instead of each path search recomputing the same cells.
+// Neighbour notifications and our own trail writes invalidate around a change; blocks that change without notifying
+// neighbours (doors, fence gates, trapdoors) are caught on lookup, as each cell remembers the state it was computed for.
+public final class HazardField {
+    private static final PerLevel<HazardField> FIELDS = new PerLevel<>(HazardField::new);
+    private static final PathType[] TYPES = PathType.values();
+    private static final int STATS_INTERVAL = 1200;
+
+    private final ServerLevel level;
+    private final HazardSectionCache cache;
+
+    private HazardField(ServerLevel level) {
+        this.level = level;
+        this.cache = new HazardSectionCache(level.getMinY(), level.getSectionsCount());
+    }
+
+    public static void register() {
+        BlockEvent.NeighborNotifyEvent.BUS.addListener(HazardField::onNeighborNotify);
+        ChunkEvent.Unload.BUS.addListener(HazardField::onChunkUnload);
+        TickEvent.LevelTickEvent.Post.BUS.addListener(HazardField::onLevelTick);
+        LevelEvent.Unload.BUS.addListener(FIELDS::onUnload);
+    }
+
+    public static HazardField get(ServerLevel level) {
+        return FIELDS.get(level);
+    }
+
+    // Called for block changes that do not go through neighbour notification, such as our own trail placements.
+    public static void onBlockChanged(ServerLevel level, BlockPos pos) {
+        HazardField field = FIELDS.getIfPresent(level);
+        if (field != null) {
+            field.cache.invalidateAround(pos.getX(), pos.getY(), pos.getZ());
+        }
+    }
+
+    // Returns the cached type, or null if it has not been computed since the last change around this block or the
+    // block is no longer in the given state.
+    public PathType lookup(int x, int y, int z, BlockState state) {
+        byte value = cache.get(x, y, z, Block.getId(state));
+        return value == HazardSectionCache.UNKNOWN ? null : TYPES[value - 1];
+    }
+
+    public void store(int x, int y, int z, BlockState state, PathType type) {
+        cache.put(x, y, z, Block.getId(state), (byte) (type.ordinal() + 1));
+    }
+
+    private static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            long start = ModProfiler.start();
+            onBlockChanged(level, event.getPos());
+            ModProfiler.stop(level, Subsystem.EVENTS, start);
+        }
+    }
+
+    private static void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            HazardField field = FIELDS.getIfPresent(level);
+            if (field != null) {
+                long start = ModProfiler.start();
+                field.cache.dropColumn(event.getChunk().getPos().toLong());
+                ModProfiler.stop(level, Subsystem.EVENTS, start);
+            }
+        }
+    }
+
+    private static void onLevelTick(TickEvent.LevelTickEvent.Post event) {
+        if (event.level instanceof ServerLevel level) {
+            long start = ModProfiler.start();
+            logStats(level);
+            ModProfiler.stop(level, Subsystem.PATHFINDING, start);
+        }
+    }
+
+    private static void logStats(ServerLevel level) {
+        if (!Config.get().hazardFieldStats() || level.getGameTime() % STATS_INTERVAL != 0) {
+            return;
+        }
+        HazardField field = FIELDS.getIfPresent(level);
+        if (field != null) {
+            HazardSectionCache cache = field.cache;
+            long lookups = cache.hits + cache.misses;
+            ZombieDeLava.LOGGER.info("Hazard field {}: {} lookups, {}% hit rate, {} invalidations, {} cached columns",
+                    level.dimension().location(), lookups, lookups == 0 ? 0 : cache.hits * 100 / lookups,
+                    cache.invalidations, cache.columnCount());
+            cache.resetCounters();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package net.romeuepote.zombiedelava.pathfinding;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.world.level.ChunkPos;
+
+// One int per block, stored as a 4096-int array per 16^3 chunk section and grouped per chunk column so a whole column
+// can be dropped in one go. Each cell packs a byte value with the stamp of the block it was computed for (the caller
+// uses the block state id); a lookup with a different stamp means the block changed without us hearing about it, so the
+// cell and its neighbours are treated as unknown. A stored value of 0 means "not computed yet"; callers encode their
+// values from 1.
+public final class HazardSectionCache {
+    public static final byte UNKNOWN = 0;
+
+    private final Long2ObjectOpenHashMap<int[][]> columns = new Long2ObjectOpenHashMap<>();
+    private final int minY;
+    private final int sectionCount;
+
+    public long hits;
+    public long misses;
+    public long invalidations;
+
+    public HazardSectionCache(int minY, int sectionCount) {
+        this.minY = minY;
+        this.sectionCount = sectionCount;
+    }
+
+    private static int cellIndex(int x, int y, int z) {
+        return (y & 15) << 8 | (z & 15) << 4 | x & 15;
+    }
+
+    private int sectionIndex(int y) {
+        return (y - minY) >> 4;
+    }
+
+    public byte get(int x, int y, int z, int stamp) {
+        int[][] column = columns.get(ChunkPos.asLong(x >> 4, z >> 4));
+        int section = sectionIndex(y);
+        byte value = UNKNOWN;
+        if (column != null && section >= 0 && section < sectionCount && column[section] != null) {
+            int cell = column[section][cellIndex(x, y, z)];
+            value = (byte) cell;
+            if (value != UNKNOWN && cell >>> 8 != stamp) {
+                // Changed behind our back (doors, trapdoors and other updates that skip neighbour notification).
+                invalidateAround(x, y, z);
+                value = UNKNOWN;
+            }
+        }
+        if (value == UNKNOWN) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    // Stamps must fit in 24 bits; block state ids do.
+    public void put(int x, int y, int z, int stamp, byte value) {
+        int section = sectionIndex(y);
+        if (section < 0 || section >= sectionCount) {
+            return;
+        }
+        long key = ChunkPos.asLong(x >> 4, z >> 4);
+        int[][] column = columns.get(key);
+        if (column == null) {
+            column = new int[sectionCount][];
+            columns.put(key, column);
+        }
+        int[] cells = column[section];
+        if (cells == null) {
+            cells = column[section] = new int[4096];
+        }
+        cells[cellIndex(x, y, z)] = stamp << 8 | value & 0xFF;
+    }
+
+    // A block's hazard depends on itself, the block below it and its 3x3x3 neighbourhood, so a change at (x, y, z)
+    // can affect every cell within one block of it.
+    public void invalidateAround(int x, int y, int z) {
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                int[][] column = columns.get(ChunkPos.asLong((x + dx) >> 4, (z + dz) >> 4));
+                if (column == null) {
+                    continue;
+                }
+                for (int dy = -1; dy <= 1; dy++) {
+                    int section = sectionIndex(y + dy);
+                    if (section >= 0 && section < sectionCount && column[section] != null) {
+                        column[section][cellIndex(x + dx, y + dy, z + dz)] = UNKNOWN;
+                    }
+                }
+            }
+        }
+        invalidations++;
+    }
+
+    public void dropColumn(long chunkKey) {
+        columns.remove(chunkKey);
+    }
+
+    public int columnCount() {
+        return columns.size();
+    }
+
+    public void resetCounters() {
+        hits = 0;
+        misses = 0;
+        invalidations = 0;
+    }
+}
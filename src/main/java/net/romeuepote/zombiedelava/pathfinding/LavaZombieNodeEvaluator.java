@@ -0,0 +1,43 @@
+package net.romeuepote.zombiedelava.pathfinding;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.level.PathNavigationRegion;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.pathfinder.PathType;
+import net.minecraft.world.level.pathfinder.PathfindingContext;
+import net.minecraft.world.level.pathfinder.WalkNodeEvaluator;
+import net.romeuepote.zombiedelava.Config;
+
+// WalkNodeEvaluator that reads block path types from the level's shared HazardField before falling back to vanilla.
+public class LavaZombieNodeEvaluator extends WalkNodeEvaluator {
+    private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+    private HazardField field;
+
+    @Override
+    public void prepare(PathNavigationRegion region, Mob mob) {
+        super.prepare(region, mob);
+        field = Config.get().hazardFieldCache() && mob.level() instanceof ServerLevel level ? HazardField.get(level) : null;
+    }
+
+    @Override
+    public void done() {
+        super.done();
+        field = null;
+    }
+
+    @Override
+    public PathType getPathType(PathfindingContext context, int x, int y, int z) {
+        if (field == null) {
+            return super.getPathType(context, x, y, z);
+        }
+        BlockState state = context.getBlockState(cursor.set(x, y, z));
+        PathType type = field.lookup(x, y, z, state);
+        if (type == null) {
+            type = super.getPathType(context, x, y, z);
+            field.store(x, y, z, state, type);
+        }
+        return type;
+    }
+}
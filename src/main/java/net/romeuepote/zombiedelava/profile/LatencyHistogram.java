@@ -0,0 +1,122 @@
+package net.romeuepote.zombiedelava.profile;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-bucket latency histogram over a rolling window of one-second slots. Buckets are log-linear (four per power of
+// two, from 64 ns up to about a minute), so percentiles are accurate to within 25%. All updates are single atomic
+// operations; a slot is recycled the first time it is written to in a new second.
+final class LatencyHistogram {
+    static final int SLOTS = 30;
+    private static final int SUB_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MIN_EXP = 6;
+    private static final int MAX_EXP = 36;
+    private static final int BUCKETS = (MAX_EXP - MIN_EXP) * SUB_BUCKETS + 2;
+    // System.nanoTime() has an arbitrary origin and may be negative; seconds are counted from class load instead, so
+    // they are never negative and cannot be mistaken for the -1 of a slot that was never written.
+    private static final long ORIGIN = System.nanoTime();
+    static final long UNUSED = -1L;
+
+    record Summary(long count, long totalNanos, long p50, long p99, long max) {
+    }
+
+    private final AtomicLongArray epochs = new AtomicLongArray(SLOTS);
+    private final AtomicLongArray counts = new AtomicLongArray(SLOTS * BUCKETS);
+    private final AtomicLongArray totals = new AtomicLongArray(SLOTS);
+    private final AtomicLongArray maxima = new AtomicLongArray(SLOTS);
+
+    LatencyHistogram() {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            epochs.set(slot, UNUSED);
+        }
+    }
+
+    static long currentSecond() {
+        return (System.nanoTime() - ORIGIN) / 1_000_000_000L;
+    }
+
+    static int slot(long second) {
+        return (int) (second % SLOTS);
+    }
+
+    static boolean isRecent(long epoch, long now, int seconds) {
+        return epoch != UNUSED && now - epoch < seconds;
+    }
+
+    static int bucket(long nanos) {
+        if (nanos < 1L << MIN_EXP) {
+            return 0;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exp >= MAX_EXP) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (nanos >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return 1 + (exp - MIN_EXP) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket == 0) {
+            return 1L << MIN_EXP;
+        }
+        if (bucket == BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        int exp = MIN_EXP + (bucket - 1) / SUB_BUCKETS;
+        int sub = (bucket - 1) % SUB_BUCKETS;
+        return (1L << exp) + ((long) (sub + 1) << (exp - SUB_BITS));
+    }
+
+    void record(long nanos) {
+        long second = currentSecond();
+        int slot = slot(second);
+        long epoch = epochs.get(slot);
+        if (epoch != second && epochs.compareAndSet(slot, epoch, second)) {
+            for (int i = slot * BUCKETS, end = i + BUCKETS; i < end; i++) {
+                counts.set(i, 0L);
+            }
+            totals.set(slot, 0L);
+            maxima.set(slot, 0L);
+        }
+        counts.incrementAndGet(slot * BUCKETS + bucket(nanos));
+        totals.addAndGet(slot, nanos);
+        maxima.accumulateAndGet(slot, nanos, Math::max);
+    }
+
+    Summary summarize(int seconds) {
+        long now = currentSecond();
+        long[] merged = new long[BUCKETS];
+        long count = 0;
+        long total = 0;
+        long max = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            long epoch = epochs.get(slot);
+            if (!isRecent(epoch, now, seconds)) {
+                continue;
+            }
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                long n = counts.get(slot * BUCKETS + bucket);
+                merged[bucket] += n;
+                count += n;
+            }
+            total += totals.get(slot);
+            max = Math.max(max, maxima.get(slot));
+        }
+        return new Summary(count, total, percentile(merged, count, 0.50, max), percentile(merged, count, 0.99, max), max);
+    }
+
+    private static long percentile(long[] buckets, long count, double quantile, long max) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * quantile);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += buckets[bucket];
+            if (seen >= rank) {
+                return Math.min(upperBound(bucket), max);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,95 @@
+package net.romeuepote.zombiedelava.profile;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.TickEvent;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Timing for the mod's tick handlers. Handlers bracket their work with start()/stop(); while profiling is off start()
+// is a single volatile read returning 0 and stop() returns immediately, so the instrumentation can stay in place.
+public final class ModProfiler {
+    private static final Map<ResourceKey<Level>, LevelProfile> LEVELS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+
+    static final class LevelProfile {
+        final LatencyHistogram[] histograms = new LatencyHistogram[Subsystem.values().length];
+        final TickWindow ticks = new TickWindow();
+
+        LevelProfile() {
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new LatencyHistogram();
+            }
+        }
+    }
+
+    private ModProfiler() {
+    }
+
+    public static void register() {
+        TickEvent.LevelTickEvent.Post.BUS.addListener(ModProfiler::onLevelTick);
+    }
+
+    private static void onLevelTick(TickEvent.LevelTickEvent.Post event) {
+        if (enabled && event.level instanceof ServerLevel level) {
+            profile(level).ticks.tick();
+        }
+    }
+
+    private static LevelProfile profile(Level level) {
+        return LEVELS.computeIfAbsent(level.dimension(), key -> new LevelProfile());
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        ModProfiler.enabled = enabled;
+    }
+
+    public static void reset() {
+        LEVELS.clear();
+    }
+
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public static void stop(Level level, Subsystem subsystem, long start) {
+        if (start != 0L) {
+            long elapsed = System.nanoTime() - start;
+            profile(level).histograms[subsystem.ordinal()].record(elapsed);
+        }
+    }
+
+    // Level ticks that ran in the last `seconds` seconds while profiling was on.
+    static long ticks(ResourceKey<Level> level, int seconds) {
+        LevelProfile profile = LEVELS.get(level);
+        return profile == null ? 0 : profile.ticks.ticks(seconds);
+    }
+
+    // Per level and subsystem summaries of the last `seconds` seconds, leaving out subsystems that recorded nothing.
+    static Map<ResourceKey<Level>, Map<Subsystem, LatencyHistogram.Summary>> summarize(int seconds) {
+        Map<ResourceKey<Level>, Map<Subsystem, LatencyHistogram.Summary>> result = new TreeMap<>(
+                Comparator.comparing((ResourceKey<Level> key) -> key.location().toString()));
+        LEVELS.forEach((level, profile) -> {
+            Map<Subsystem, LatencyHistogram.Summary> summaries = new EnumMap<>(Subsystem.class);
+            for (Subsystem subsystem : Subsystem.values()) {
+                LatencyHistogram.Summary summary = profile.histograms[subsystem.ordinal()].summarize(seconds);
+                if (summary.count() > 0) {
+                    summaries.put(subsystem, summary);
+                }
+            }
+            if (!summaries.isEmpty()) {
+                result.put(level, summaries);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,163 @@
+package net.romeuepote.zombiedelava.profile;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import net.minecraft.Util;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.storage.LevelResource;
+import net.minecraftforge.event.RegisterCommandsEvent;
+import net.romeuepote.zombiedelava.ZombieDeLava;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// /zlava profile start|stop|reset|report [seconds]|dump json|csv
+public final class ProfileCommand {
+    private static final int DEFAULT_REPORT_SECONDS = 10;
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private ProfileCommand() {
+    }
+
+    public static void register() {
+        RegisterCommandsEvent.BUS.addListener(ProfileCommand::onRegisterCommands);
+    }
+
+    private static void onRegisterCommands(RegisterCommandsEvent event) {
+        event.getDispatcher().register(Commands.literal(ZombieDeLava.MOD_ID)
+                .requires(source -> source.hasPermission(Commands.LEVEL_GAMEMASTERS))
+                .then(profile()));
+    }
+
+    private static LiteralArgumentBuilder<CommandSourceStack> profile() {
+        return Commands.literal("profile")
+                .then(Commands.literal("start").executes(context -> start(context.getSource())))
+                .then(Commands.literal("stop").executes(context -> stop(context.getSource())))
+                .then(Commands.literal("reset").executes(context -> reset(context.getSource())))
+                .then(Commands.literal("report")
+                        .executes(context -> report(context.getSource(), DEFAULT_REPORT_SECONDS))
+                        .then(Commands.argument("seconds", IntegerArgumentType.integer(1, LatencyHistogram.SLOTS))
+                                .executes(context -> report(context.getSource(), IntegerArgumentType.getInteger(context, "seconds")))))
+                .then(Commands.literal("dump")
+                        .then(Commands.literal("json").executes(context -> dump(context.getSource(), false)))
+                        .then(Commands.literal("csv").executes(context -> dump(context.getSource(), true))));
+    }
+
+    private static int start(CommandSourceStack source) {
+        ModProfiler.reset();
+        ModProfiler.setEnabled(true);
+        source.sendSuccess(() -> Component.literal("Zombie de Lava profiling started"), true);
+        return 1;
+    }
+
+    private static int stop(CommandSourceStack source) {
+        ModProfiler.setEnabled(false);
+        source.sendSuccess(() -> Component.literal("Zombie de Lava profiling stopped; data is kept until the next start or reset"), true);
+        return 1;
+    }
+
+    private static int reset(CommandSourceStack source) {
+        ModProfiler.reset();
+        source.sendSuccess(() -> Component.literal("Zombie de Lava profiling data cleared"), true);
+        return 1;
+    }
+
+    private static int report(CommandSourceStack source, int seconds) {
+        Map<ResourceKey<Level>, Map<Subsystem, LatencyHistogram.Summary>> summaries = ModProfiler.summarize(seconds);
+        if (summaries.isEmpty()) {
+            source.sendFailure(Component.literal(ModProfiler.isEnabled()
+                    ? "Nothing recorded in the last " + seconds + "s"
+                    : "Profiling is off; start it with /" + ZombieDeLava.MOD_ID + " profile start"));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.literal("Last " + seconds + "s (p50 / p99 / max per call, ms per tick):"), false);
+        summaries.forEach((level, subsystems) -> {
+            // Divide by the ticks that really ran, not seconds * 20: the server may be lagging, or profiling may have
+            // started partway through the window.
+            long ticks = ModProfiler.ticks(level, seconds);
+            source.sendSuccess(() -> Component.literal(level.location() + " (" + ticks + " ticks)"), false);
+            subsystems.forEach((subsystem, summary) -> source.sendSuccess(() -> Component.literal(String.format(Locale.ROOT,
+                    "  %-12s %8d calls  %s / %s / %s  %s ms/t", subsystem, summary.count(), micros(summary.p50()),
+                    micros(summary.p99()), micros(summary.max()), perTick(summary.totalNanos(), ticks))), false));
+        });
+        return summaries.size();
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.1fus", nanos / 1e3);
+    }
+
+    private static String perTick(long totalNanos, long ticks) {
+        return ticks == 0 ? "-" : String.format(Locale.ROOT, "%.3f", totalNanos / 1e6 / ticks);
+    }
+
+    // The summaries are taken on the server thread; formatting and writing the file happen on the IO pool.
+    private static int dump(CommandSourceStack source, boolean csv) {
+        MinecraftServer server = source.getServer();
+        Map<ResourceKey<Level>, Map<Subsystem, LatencyHistogram.Summary>> summaries = ModProfiler.summarize(LatencyHistogram.SLOTS);
+        Map<ResourceKey<Level>, Long> ticks = new HashMap<>();
+        summaries.keySet().forEach(level -> ticks.put(level, ModProfiler.ticks(level, LatencyHistogram.SLOTS)));
+        Path file = server.getWorldPath(LevelResource.ROOT)
+                .resolve(ZombieDeLava.MOD_ID + "-profile-" + LocalDateTime.now().format(FILE_TIME) + (csv ? ".csv" : ".json"))
+                .normalize();
+        Util.ioPool().execute(() -> {
+            try {
+                Files.writeString(file, csv ? toCsv(summaries, ticks) : toJson(summaries, ticks), StandardCharsets.UTF_8);
+                server.execute(() -> source.sendSuccess(() -> Component.literal("Wrote profile to " + file), true));
+            } catch (IOException e) {
+                ZombieDeLava.LOGGER.error("Failed to write profile to {}", file, e);
+                server.execute(() -> source.sendFailure(Component.literal("Failed to write profile: " + e.getMessage())));
+            }
+        });
+        return 1;
+    }
+
+    private static String toJson(Map<ResourceKey<Level>, Map<Subsystem, LatencyHistogram.Summary>> summaries, Map<ResourceKey<Level>, Long> ticks) {
+        JsonObject root = new JsonObject();
+        root.addProperty("windowSeconds", LatencyHistogram.SLOTS);
+        JsonArray rows = new JsonArray();
+        summaries.forEach((level, subsystems) -> subsystems.forEach((subsystem, summary) -> {
+            JsonObject row = new JsonObject();
+            row.addProperty("level", level.location().toString());
+            row.addProperty("ticks", ticks.get(level));
+            row.addProperty("subsystem", subsystem.name());
+            row.addProperty("count", summary.count());
+            row.addProperty("totalNanos", summary.totalNanos());
+            row.addProperty("p50Nanos", summary.p50());
+            row.addProperty("p99Nanos", summary.p99());
+            row.addProperty("maxNanos", summary.max());
+            rows.add(row);
+        }));
+        root.add("subsystems", rows);
+        return new GsonBuilder().setPrettyPrinting().create().toJson(root);
+    }
+
+    private static String toCsv(Map<ResourceKey<Level>, Map<Subsystem, LatencyHistogram.Summary>> summaries, Map<ResourceKey<Level>, Long> ticks) {
+        StringBuilder csv = new StringBuilder("level,ticks,subsystem,count,total_nanos,p50_nanos,p99_nanos,max_nanos\n");
+        summaries.forEach((level, subsystems) -> subsystems.forEach((subsystem, summary) -> csv
+                .append(level.location()).append(',')
+                .append(ticks.get(level)).append(',')
+                .append(subsystem.name()).append(',')
+                .append(summary.count()).append(',')
+                .append(summary.totalNanos()).append(',')
+                .append(summary.p50()).append(',')
+                .append(summary.p99()).append(',')
+                .append(summary.max()).append('\n')));
+        return csv.toString();
+    }
+}
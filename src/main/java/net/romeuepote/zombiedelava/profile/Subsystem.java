@@ -0,0 +1,16 @@
+package net.romeuepote.zombiedelava.profile;
+
+public enum Subsystem {
+    // Lava zombie aiStep, including goals and pathfinding
+    ENTITY_AI,
+    HORDE,
+    // Hazard field upkeep outside of path searches
+    PATHFINDING,
+    SPAWNING,
+    TRAIL,
+    IGNITION,
+    // Block, chunk and entity event listeners
+    EVENTS,
+    // Per-entity hooks that hand work to the batched subsystems (trail and ignition enqueues); hits run inside ENTITY_AI
+    ENTITY_HOOKS
+}
@@ -0,0 +1,38 @@
+package net.romeuepote.zombiedelava.profile;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Counts level ticks in the same rolling one-second slots as LatencyHistogram, so "per tick" figures divide by the ticks
+// that actually ran in the window: fewer than 20 a second while the server lags, and none before profiling started.
+final class TickWindow {
+    private final AtomicLongArray epochs = new AtomicLongArray(LatencyHistogram.SLOTS);
+    private final AtomicLongArray counts = new AtomicLongArray(LatencyHistogram.SLOTS);
+
+    TickWindow() {
+        for (int slot = 0; slot < LatencyHistogram.SLOTS; slot++) {
+            epochs.set(slot, LatencyHistogram.UNUSED);
+        }
+    }
+
+    void tick() {
+        long second = LatencyHistogram.currentSecond();
+        int slot = LatencyHistogram.slot(second);
+        long epoch = epochs.get(slot);
+        if (epoch != second && epochs.compareAndSet(slot, epoch, second)) {
+            counts.set(slot, 0L);
+        }
+        counts.incrementAndGet(slot);
+    }
+
+    long ticks(int seconds) {
+        long now = LatencyHistogram.currentSecond();
+        long ticks = 0;
+        for (int slot = 0; slot < LatencyHistogram.SLOTS; slot++) {
+            long epoch = epochs.get(slot);
+            if (LatencyHistogram.isRecent(epoch, now, seconds)) {
+                ticks += counts.get(slot);
+            }
+        }
+        return ticks;
+    }
+}
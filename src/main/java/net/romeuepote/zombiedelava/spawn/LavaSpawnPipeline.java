@@ -0,0 +1,269 @@
+package net.romeuepote.zombiedelava.spawn;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.tags.TagKey;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.Difficulty;
+import net.minecraft.world.entity.EntitySpawnReason;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.SpawnPlacements;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.GameRules;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraftforge.event.ForgeEventFactory;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.romeuepote.zombiedelava.Config;
+import net.romeuepote.zombiedelava.ConfigSnapshot;
+import net.romeuepote.zombiedelava.ZombieDeLava;
+import net.romeuepote.zombiedelava.entity.LavaZombie;
+import net.romeuepote.zombiedelava.entity.ModEntities;
+import net.romeuepote.zombiedelava.horde.HordeCoordinator;
+import net.romeuepote.zombiedelava.profile.ModProfiler;
+import net.romeuepote.zombiedelava.profile.Subsystem;
+import net.romeuepote.zombiedelava.util.PerLevel;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+// Natural spawning for lava zombies that stays out of NaturalSpawner. Candidate positions are computed per chunk on a
+// worker thread and kept in a bounded cache; the server thread only picks from the cache and commits a few spawns a tick.
+public final class LavaSpawnPipeline {
+    public static final TagKey<Biome> SPAWN_BIOMES = TagKey.create(Registries.BIOME, ResourceLocation.fromNamespaceAndPath(ZombieDeLava.MOD_ID, "lava_zombie_spawns"));
+
+    private static final PerLevel<LavaSpawnPipeline> PIPELINES = new PerLevel<>(LavaSpawnPipeline::new);
+    private static final int CACHE_SIZE = 1024;
+    private static final int MIN_CHUNK_DISTANCE = 2;
+    private static final int MAX_CHUNK_DISTANCE = 6;
+    private static final double MIN_PLAYER_DISTANCE = 24.0;
+    private static final long[] NO_CANDIDATES = new long[0];
+    private static final Predicate<Holder<Biome>> IS_SPAWN_BIOME = biome -> biome.is(SPAWN_BIOMES);
+
+    private record ScanResult(long chunkKey, long[] candidates) {
+    }
+
+    private final ServerLevel level;
+    private final Long2ObjectLinkedOpenHashMap<long[]> candidates = new Long2ObjectLinkedOpenHashMap<>();
+    private final LongOpenHashSet inFlight = new LongOpenHashSet();
+    private final LongOpenHashSet staleInFlight = new LongOpenHashSet();
+    private final ConcurrentLinkedQueue<ScanResult> completed = new ConcurrentLinkedQueue<>();
+    private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+    private boolean spawnBiomesPossible;
+
+    private LavaSpawnPipeline(ServerLevel level) {
+        this.level = level;
+        this.spawnBiomesPossible = canGenerateSpawnBiomes(level);
+    }
+
+    public static void register() {
+        TickEvent.LevelTickEvent.Post.BUS.addListener(LavaSpawnPipeline::onLevelTick);
+        BlockEvent.NeighborNotifyEvent.BUS.addListener(LavaSpawnPipeline::onNeighborNotify);
+        ChunkEvent.Unload.BUS.addListener(LavaSpawnPipeline::onChunkUnload);
+        LevelEvent.Unload.BUS.addListener(PIPELINES::onUnload);
+        TagsUpdatedEvent.BUS.addListener(LavaSpawnPipeline::onTagsUpdated);
+    }
+
+    // Levels whose biome source never produces a biome in the spawn tag (the Overworld and the End with the default tag)
+    // are skipped outright instead of snapshotting and scanning chunks that could never yield a spawn.
+    private static boolean canGenerateSpawnBiomes(ServerLevel level) {
+        for (Holder<Biome> biome : level.getChunkSource().getGenerator().getBiomeSource().possibleBiomes()) {
+            if (IS_SPAWN_BIOME.test(biome)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // A datapack reload can change the spawn tag: re-check every level and forget scans made under the old tag.
+    private static void onTagsUpdated(TagsUpdatedEvent event) {
+        if (event.getUpdateCause() == TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD) {
+            for (LavaSpawnPipeline pipeline : PIPELINES.values()) {
+                pipeline.spawnBiomesPossible = canGenerateSpawnBiomes(pipeline.level);
+                pipeline.candidates.clear();
+                pipeline.staleInFlight.addAll(pipeline.inFlight);
+            }
+        }
+    }
+
+    private static void onLevelTick(TickEvent.LevelTickEvent.Post event) {
+        if (event.level instanceof ServerLevel level) {
+            long start = ModProfiler.start();
+            PIPELINES.get(level).tick();
+            ModProfiler.stop(level, Subsystem.SPAWNING, start);
+        }
+    }
+
+    private static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            LavaSpawnPipeline pipeline = PIPELINES.getIfPresent(level);
+            if (pipeline != null) {
+                long start = ModProfiler.start();
+                pipeline.invalidate(ChunkPos.asLong(event.getPos()));
+                ModProfiler.stop(level, Subsystem.EVENTS, start);
+            }
+        }
+    }
+
+    private static void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            LavaSpawnPipeline pipeline = PIPELINES.getIfPresent(level);
+            if (pipeline != null) {
+                long start = ModProfiler.start();
+                pipeline.invalidate(event.getChunk().getPos().toLong());
+                ModProfiler.stop(level, Subsystem.EVENTS, start);
+            }
+        }
+    }
+
+    private void invalidate(long chunkKey) {
+        candidates.remove(chunkKey);
+        if (inFlight.contains(chunkKey)) {
+            staleInFlight.add(chunkKey);
+        }
+    }
+
+    private void tick() {
+        drainCompleted();
+        ConfigSnapshot config = Config.get();
+        if (!spawnBiomesPossible || config.spawnBudget() == 0 || level.getDifficulty() == Difficulty.PEACEFUL
+                || !level.getGameRules().getBoolean(GameRules.RULE_DOMOBSPAWNING)) {
+            return;
+        }
+        List<ServerPlayer> players = level.getPlayers(player -> !player.isSpectator());
+        if (players.isEmpty()) {
+            return;
+        }
+        int cap = players.size() * config.spawnDensity();
+        int spawned = HordeCoordinator.naturalSpawnCount(level);
+        RandomSource random = level.getRandom();
+        for (int attempt = 0; attempt < config.spawnBudget() && spawned < cap; attempt++) {
+            ServerPlayer player = players.get(random.nextInt(players.size()));
+            if (trySpawnNear(player, random)) {
+                spawned++;
+            }
+        }
+    }
+
+    private void drainCompleted() {
+        ScanResult result;
+        while ((result = completed.poll()) != null) {
+            inFlight.remove(result.chunkKey());
+            if (staleInFlight.remove(result.chunkKey())) {
+                continue;
+            }
+            cache(result.chunkKey(), result.candidates());
+        }
+    }
+
+    private void cache(long chunkKey, long[] found) {
+        candidates.putAndMoveToLast(chunkKey, found);
+        if (candidates.size() > CACHE_SIZE) {
+            candidates.removeFirst();
+        }
+    }
+
+    private boolean trySpawnNear(ServerPlayer player, RandomSource random) {
+        int dx = randomChunkOffset(random);
+        int dz = randomChunkOffset(random);
+        ChunkPos origin = player.chunkPosition();
+        long chunkKey = ChunkPos.asLong(origin.x + dx, origin.z + dz);
+        // Moving hits to the end keeps the chunks around players in the cache while chunks they left are evicted first.
+        long[] chunkCandidates = candidates.getAndMoveToLast(chunkKey);
+        if (chunkCandidates == null) {
+            requestScan(chunkKey);
+            return false;
+        }
+        if (chunkCandidates.length == 0) {
+            return false;
+        }
+        cursor.set(chunkCandidates[random.nextInt(chunkCandidates.length)]);
+        return canSpawnAt(cursor) && spawn(cursor, random);
+    }
+
+    private static int randomChunkOffset(RandomSource random) {
+        int offset = MIN_CHUNK_DISTANCE + random.nextInt(MAX_CHUNK_DISTANCE - MIN_CHUNK_DISTANCE + 1);
+        return random.nextBoolean() ? offset : -offset;
+    }
+
+    private void requestScan(long chunkKey) {
+        if (inFlight.contains(chunkKey)) {
+            return;
+        }
+        LevelChunk chunk = level.getChunkSource().getChunkNow(ChunkPos.getX(chunkKey), ChunkPos.getZ(chunkKey));
+        if (chunk == null) {
+            return;
+        }
+        if (!hasSpawnBiome(chunk)) {
+            // No biome in the chunk allows lava zombies, so there is no point in copying its palettes.
+            cache(chunkKey, NO_CANDIDATES);
+            return;
+        }
+        SpawnCandidateScanner scanner = SpawnCandidateScanner.snapshot(chunk);
+        if (scanner == null) {
+            // No lava anywhere in the chunk's palettes: nothing to do off-thread.
+            cache(chunkKey, NO_CANDIDATES);
+            return;
+        }
+        inFlight.add(chunkKey);
+        CompletableFuture.supplyAsync(scanner::scan, Util.backgroundExecutor())
+                .whenComplete((found, error) -> {
+                    if (error != null) {
+                        ZombieDeLava.LOGGER.warn("Failed to scan chunk {} for lava zombie spawns", new ChunkPos(chunkKey), error);
+                    }
+                    completed.add(new ScanResult(chunkKey, found == null ? NO_CANDIDATES : found));
+                });
+    }
+
+    // Only looks at the biome palettes, so this is cheap enough to run before every snapshot.
+    private static boolean hasSpawnBiome(LevelChunk chunk) {
+        for (LevelChunkSection section : chunk.getSections()) {
+            if (section.getBiomes().maybeHas(IS_SPAWN_BIOME)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean canSpawnAt(BlockPos pos) {
+        return level.isPositionEntityTicking(pos)
+                && level.getBlockState(pos).isAir()
+                && level.getBiome(pos).is(SPAWN_BIOMES)
+                && !level.hasNearbyAlivePlayer(pos.getX() + 0.5, pos.getY(), pos.getZ() + 0.5, MIN_PLAYER_DISTANCE)
+                && level.noCollision(ModEntities.LAVA_ZOMBIE.get().getSpawnAABB(pos.getX() + 0.5, pos.getY(), pos.getZ() + 0.5));
+    }
+
+    // Same checks as NaturalSpawner, so other mods can veto these spawns through the usual Forge spawn events:
+    // the registered placement rules (SpawnPlacementCheck), then the mob's own position check (PositionCheck) and
+    // finally a cancelled FinalizeSpawn.
+    private boolean spawn(BlockPos pos, RandomSource random) {
+        EntityType<LavaZombie> type = ModEntities.LAVA_ZOMBIE.get();
+        if (!SpawnPlacements.checkSpawnRules(type, level, EntitySpawnReason.NATURAL, pos, random)) {
+            return false;
+        }
+        LavaZombie zombie = type.create(level, EntitySpawnReason.NATURAL);
+        if (zombie == null) {
+            return false;
+        }
+        zombie.snapTo(pos.getX() + 0.5, pos.getY(), pos.getZ() + 0.5, random.nextFloat() * 360.0F, 0.0F);
+        if (!ForgeEventFactory.checkSpawnPosition(zombie, level, EntitySpawnReason.NATURAL)) {
+            return false;
+        }
+        ForgeEventFactory.onFinalizeSpawn(zombie, level, level.getCurrentDifficultyAt(pos), EntitySpawnReason.NATURAL, null);
+        return !zombie.isSpawnCancelled() && level.addFreshEntityWithPassengers(zombie);
+    }
+}
@@ -0,0 +1,100 @@
+package net.romeuepote.zombiedelava.spawn;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+
+import java.util.function.Predicate;
+
+// Finds lava-adjacent spawn positions in a chunk. The snapshot is taken on the server thread and only copies the
+// sections whose palette can hold lava (plus their vertical neighbours); the scan itself runs on a worker thread.
+final class SpawnCandidateScanner {
+    static final int MAX_CANDIDATES = 64;
+    private static final Predicate<BlockState> IS_LAVA = state -> state.is(Blocks.LAVA);
+    private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+
+    private final int chunkX;
+    private final int chunkZ;
+    private final int minY;
+    private final PalettedContainer<BlockState>[] sections;
+    private final boolean[] hasLava;
+
+    @SuppressWarnings("unchecked")
+    private SpawnCandidateScanner(LevelChunk chunk) {
+        this.chunkX = chunk.getPos().getMinBlockX();
+        this.chunkZ = chunk.getPos().getMinBlockZ();
+        this.minY = chunk.getMinY();
+        LevelChunkSection[] source = chunk.getSections();
+        this.sections = new PalettedContainer[source.length];
+        this.hasLava = new boolean[source.length];
+        for (int i = 0; i < source.length; i++) {
+            hasLava[i] = !source[i].hasOnlyAir() && source[i].getStates().maybeHas(IS_LAVA);
+        }
+        for (int i = 0; i < source.length; i++) {
+            boolean needed = hasLava[i] || i > 0 && hasLava[i - 1] || i + 1 < source.length && hasLava[i + 1];
+            if (needed && !source[i].hasOnlyAir()) {
+                sections[i] = source[i].getStates().copy();
+            }
+        }
+    }
+
+    // Returns null if no section of the chunk can contain lava, so there is nothing to hand to a worker.
+    static SpawnCandidateScanner snapshot(LevelChunk chunk) {
+        SpawnCandidateScanner scanner = new SpawnCandidateScanner(chunk);
+        for (boolean lava : scanner.hasLava) {
+            if (lava) {
+                return scanner;
+            }
+        }
+        return null;
+    }
+
+    private BlockState get(int x, int y, int z) {
+        int section = y >> 4;
+        if (x < 0 || x > 15 || z < 0 || z > 15 || section < 0 || section >= sections.length || sections[section] == null) {
+            return AIR;
+        }
+        return sections[section].get(x, y & 15, z);
+    }
+
+    // A candidate is a solid floor block with two free blocks above it and lava next to the floor or the feet.
+    long[] scan() {
+        LongArrayList found = new LongArrayList();
+        for (int section = 0; section < sections.length; section++) {
+            if (!hasLava[section]) {
+                continue;
+            }
+            for (int y = section << 4, top = y + 16; y < top; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        BlockState floor = get(x, y, z);
+                        if (floor.blocksMotion() && !floor.is(Blocks.LAVA)
+                                && get(x, y + 1, z).isAir() && get(x, y + 2, z).isAir()
+                                && (nextToLava(x, y, z) || nextToLava(x, y + 1, z))) {
+                            found.add(BlockPos.asLong(chunkX + x, minY + y + 1, chunkZ + z));
+                        }
+                    }
+                }
+            }
+        }
+        if (found.size() <= MAX_CANDIDATES) {
+            return found.toLongArray();
+        }
+        // Thin out evenly so a big lava lake does not only yield candidates from its lowest layer.
+        long[] thinned = new long[MAX_CANDIDATES];
+        double step = (double) found.size() / MAX_CANDIDATES;
+        for (int i = 0; i < MAX_CANDIDATES; i++) {
+            thinned[i] = found.getLong((int) (i * step));
+        }
+        return thinned;
+    }
+
+    private boolean nextToLava(int x, int y, int z) {
+        return get(x + 1, y, z).is(Blocks.LAVA) || get(x - 1, y, z).is(Blocks.LAVA)
+                || get(x, y, z + 1).is(Blocks.LAVA) || get(x, y, z - 1).is(Blocks.LAVA);
+    }
+}
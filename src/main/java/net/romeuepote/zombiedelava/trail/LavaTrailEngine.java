@@ -0,0 +1,170 @@
+package net.romeuepote.zombiedelava.trail;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.GameRules;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.romeuepote.zombiedelava.Config;
+import net.romeuepote.zombiedelava.ConfigSnapshot;
+import net.romeuepote.zombiedelava.network.TrailSync;
+import net.romeuepote.zombiedelava.network.TrailSyncMode;
+import net.romeuepote.zombiedelava.pathfinding.HazardField;
+import net.romeuepote.zombiedelava.profile.ModProfiler;
+import net.romeuepote.zombiedelava.profile.Subsystem;
+import net.romeuepote.zombiedelava.util.PerLevel;
+import net.romeuepote.zombiedelava.util.RegistryIdSet;
+
+// Server-side lava trails left behind by lava zombies. Zombies only enqueue positions; the blocks are written once per
+// level tick in a capped batch, chunk by chunk, and removed again when their TimingWheel deadline comes up.
+public final class LavaTrailEngine implements TrailQueue.TrailWriter {
+    private static final PerLevel<LavaTrailEngine> ENGINES = new PerLevel<>(LavaTrailEngine::new);
+    private static final BlockState TRAIL = Blocks.LAVA.defaultBlockState();
+    private static final BlockState EMPTY = Blocks.AIR.defaultBlockState();
+
+    private final ServerLevel level;
+    private final TrailQueue queue = new TrailQueue();
+    private final TrailSync sync;
+    private final TrailSavedData data;
+    private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+    private LevelChunk chunk;
+    private RegistryIdSet excludedFloors = RegistryIdSet.EMPTY;
+    private boolean deltaSync;
+    private boolean placing = true;
+    private int lifetime;
+
+    private LavaTrailEngine(ServerLevel level) {
+        this.level = level;
+        this.sync = new TrailSync(level);
+        this.data = TrailSavedData.attach(level, queue);
+    }
+
+    public static void register() {
+        TickEvent.LevelTickEvent.Post.BUS.addListener(LavaTrailEngine::onLevelTick);
+        LevelEvent.Load.BUS.addListener(LavaTrailEngine::onLevelLoad);
+        LevelEvent.Unload.BUS.addListener(ENGINES::onUnload);
+    }
+
+    public static void enqueue(ServerLevel level, BlockPos pos) {
+        LavaTrailEngine engine = ENGINES.get(level);
+        // While trails cannot be placed (mobGriefing off or no budget) there is no point in queueing them.
+        if (engine.placing) {
+            engine.queue.enqueue(pos.asLong());
+        }
+    }
+
+    // Trails saved before a restart have to expire even if no lava zombie ever walks in this level again.
+    private static void onLevelLoad(LevelEvent.Load event) {
+        if (event.getLevel() instanceof ServerLevel serverLevel) {
+            ENGINES.get(serverLevel);
+        }
+    }
+
+    private static void onLevelTick(TickEvent.LevelTickEvent.Post event) {
+        if (event.level instanceof ServerLevel serverLevel) {
+            LavaTrailEngine engine = ENGINES.getIfPresent(serverLevel);
+            if (engine != null) {
+                long start = ModProfiler.start();
+                engine.tick();
+                ModProfiler.stop(serverLevel, Subsystem.TRAIL, start);
+            }
+        }
+    }
+
+    private void tick() {
+        ConfigSnapshot config = Config.get();
+        // mobGriefing only stops new trails; removing old ones restores the world, so decay always runs.
+        int budget = level.getGameRules().getBoolean(GameRules.RULE_MOBGRIEFING) ? config.trailBlockBudget() : 0;
+        placing = budget > 0;
+        excludedFloors = config.trailExcludedFloors();
+        deltaSync = config.trailSyncMode() == TrailSyncMode.DELTA;
+        lifetime = config.trailDecayTicks();
+        int written = queue.tick(level.getGameTime(), lifetime, budget, config.trailDecayBudget(), this);
+        chunk = null;
+        if (written > 0 || !queue.isEmpty()) {
+            data.setDirty();
+        }
+        sync.flush(deltaSync);
+        if (config.trailSyncStats()) {
+            sync.logStats(deltaSync);
+        }
+    }
+
+    @Override
+    public boolean selectChunk(long chunkKey) {
+        chunk = level.getChunkSource().getChunkNow(ChunkPos.getX(chunkKey), ChunkPos.getZ(chunkKey));
+        return chunk != null;
+    }
+
+    @Override
+    public boolean place(long pos) {
+        cursor.set(pos);
+        if (!chunk.getBlockState(cursor).isAir()) {
+            return false;
+        }
+        cursor.move(Direction.DOWN);
+        BlockState floor = chunk.getBlockState(cursor);
+        if (!floor.isFaceSturdy(level, cursor, Direction.UP) || excludedFloors.contains(BuiltInRegistries.BLOCK.getId(floor.getBlock()))) {
+            return false;
+        }
+        cursor.set(pos);
+        // No neighbour updates: the lava schedules its own fluid tick in onPlace. That also means no neighbour
+        // notification, so tell the hazard field ourselves. In delta mode clients learn about the block from TrailSync.
+        if (!level.setBlock(cursor, TRAIL, deltaSync ? Block.UPDATE_NONE : Block.UPDATE_CLIENTS)) {
+            return false;
+        }
+        HazardField.onBlockChanged(level, cursor);
+        if (deltaSync) {
+            forgetPathType();
+        }
+        sync.record(cursor, TRAIL, lifetime);
+        return true;
+    }
+
+    // Only delta clients keep their own copy of the deadline (for the heat effect), so that is all a refresh has to update.
+    @Override
+    public boolean refresh(long pos, int lifetime) {
+        cursor.set(pos);
+        if (!isTrail(chunk.getBlockState(cursor))) {
+            return false;
+        }
+        if (deltaSync) {
+            sync.record(cursor, TRAIL, lifetime);
+        }
+        return true;
+    }
+
+    private static boolean isTrail(BlockState state) {
+        return state.is(Blocks.LAVA) && state.getFluidState().isSource();
+    }
+
+    @Override
+    public void clear(long pos) {
+        cursor.set(pos);
+        BlockState state = chunk.getBlockState(cursor);
+        // Only remove our own source blocks; anything that replaced the trail in the meantime stays.
+        if (isTrail(state)) {
+            // Neighbour updates let the flowing lava around the source recede.
+            level.setBlock(cursor, EMPTY, deltaSync ? Block.UPDATE_NEIGHBORS : Block.UPDATE_ALL);
+            if (deltaSync) {
+                forgetPathType();
+            }
+            sync.record(cursor, EMPTY, 0);
+        }
+    }
+
+    // Without UPDATE_CLIENTS the level never calls sendBlockUpdated, which is where vanilla drops the cached path type
+    // of a changed block; every mob (and our HazardField, which caches what vanilla computes) would keep treating the
+    // cell as its old self. Its other job, re-pathing mobs when a block's collision shape changes, does not apply here:
+    // air and lava have no collision shape.
+    private void forgetPathType() {
+        level.getPathTypeCache().invalidate(cursor);
+    }
+}
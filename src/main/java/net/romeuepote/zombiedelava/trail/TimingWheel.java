@@ -0,0 +1,39 @@
+package net.romeuepote.zombiedelava.trail;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+// A single-level timing wheel of packed block positions. Each slot holds the positions due on the ticks that map to it,
+// so expiring a tick costs one slot drain instead of one scheduled tick per block. Deadlines must stay within one
+// revolution of the wheel; callers are expected to check entries against their own bookkeeping for staleness.
+final class TimingWheel {
+    private final LongArrayList[] slots;
+    private final int mask;
+
+    TimingWheel(int minSpan) {
+        int size = Integer.highestOneBit(Math.max(2, minSpan - 1)) << 1;
+        this.slots = new LongArrayList[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new LongArrayList();
+        }
+    }
+
+    int span() {
+        return slots.length;
+    }
+
+    void schedule(long tick, long value) {
+        slots[(int) (tick & mask)].add(value);
+    }
+
+    // The returned list is owned by the wheel; callers must finish with it (and clear it) before scheduling into the same tick.
+    LongArrayList slot(long tick) {
+        return slots[(int) (tick & mask)];
+    }
+
+    void clear() {
+        for (LongArrayList slot : slots) {
+            slot.clear();
+        }
+    }
+}
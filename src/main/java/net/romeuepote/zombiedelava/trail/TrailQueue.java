@@ -0,0 +1,242 @@
+package net.romeuepote.zombiedelava.trail;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+
+// Level-independent bookkeeping for lava trails: placements and decay deadlines are bucketed per chunk and keyed by
+// packed BlockPos, and deadlines are driven by a TimingWheel. All block access goes through a TrailWriter.
+public final class TrailQueue {
+    public static final int MAX_LIFETIME = 1200;
+    // How long to wait before retrying a deadline whose chunk is not loaded.
+    private static final int UNLOADED_RETRY = 20;
+
+    public interface TrailWriter {
+        // Makes the given chunk current for the following calls. Returns false if the chunk is not loaded.
+        boolean selectChunk(long chunkKey);
+
+        // Places a trail block, returning false if the position cannot hold one.
+        boolean place(long pos);
+
+        void clear(long pos);
+
+        // Called when an active trail is stepped on again. Returns false if the trail block is gone (scooped up or replaced),
+        // in which case the entry is dropped and the position is placed afresh; otherwise the deadline moves `lifetime`
+        // ticks out from now.
+        boolean refresh(long pos, int lifetime);
+    }
+
+    static final class ChunkBucket {
+        final LongLinkedOpenHashSet pending = new LongLinkedOpenHashSet();
+        final Long2LongOpenHashMap active = new Long2LongOpenHashMap();
+        boolean queued;
+
+        ChunkBucket() {
+            active.defaultReturnValue(-1L);
+        }
+
+        boolean isEmpty() {
+            return pending.isEmpty() && active.isEmpty();
+        }
+    }
+
+    private final Long2ObjectOpenHashMap<ChunkBucket> chunks = new Long2ObjectOpenHashMap<>();
+    private final LongArrayFIFOQueue dirtyChunks = new LongArrayFIFOQueue();
+    private final TimingWheel wheel = new TimingWheel(MAX_LIFETIME + 2);
+    private final LongArrayList deferred = new LongArrayList();
+    private final LongArrayList unloaded = new LongArrayList();
+    private long lastTick = Long.MIN_VALUE;
+
+    public static long chunkKey(long pos) {
+        return ChunkPos.asLong(BlockPos.getX(pos) >> 4, BlockPos.getZ(pos) >> 4);
+    }
+
+    private ChunkBucket bucket(long chunkKey) {
+        ChunkBucket bucket = chunks.get(chunkKey);
+        if (bucket == null) {
+            bucket = new ChunkBucket();
+            chunks.put(chunkKey, bucket);
+        }
+        return bucket;
+    }
+
+    public void enqueue(long pos) {
+        long chunkKey = chunkKey(pos);
+        ChunkBucket bucket = bucket(chunkKey);
+        bucket.pending.add(pos);
+        if (!bucket.queued) {
+            bucket.queued = true;
+            dirtyChunks.enqueue(chunkKey);
+        }
+    }
+
+    public int activeChunks() {
+        return chunks.size();
+    }
+
+    public boolean isEmpty() {
+        return chunks.isEmpty();
+    }
+
+    public boolean isActive(long pos) {
+        ChunkBucket bucket = chunks.get(chunkKey(pos));
+        return bucket != null && bucket.active.containsKey(pos);
+    }
+
+    // Expires due trails and then applies queued placements, spending at most `decayBudget` block writes on removals and
+    // `placeBudget` on placements. Removal has its own budget so that trails still decay while placing is switched off;
+    // with no placement budget the queued placements are dropped instead of piling up. Returns the number of block writes.
+    public int tick(long now, int lifetime, int placeBudget, int decayBudget, TrailWriter writer) {
+        lifetime = Math.max(1, Math.min(lifetime, MAX_LIFETIME));
+        int removed = decayBudget - expire(now, decayBudget, writer);
+        if (placeBudget <= 0) {
+            dropPending();
+            return removed;
+        }
+        return removed + placeBudget - place(now, lifetime, placeBudget, writer);
+    }
+
+    private int expire(long now, int budget, TrailWriter writer) {
+        // Catch up on any ticks we did not see, but never walk more than one revolution of the wheel.
+        long from = lastTick == Long.MIN_VALUE ? now : Math.max(lastTick + 1, now - wheel.span() + 1);
+        lastTick = now;
+        long currentChunk = Long.MIN_VALUE;
+        boolean loaded = false;
+        for (long tick = from; tick <= now; tick++) {
+            LongArrayList due = wheel.slot(tick);
+            for (int i = 0, size = due.size(); i < size; i++) {
+                long pos = due.getLong(i);
+                long chunkKey = chunkKey(pos);
+                ChunkBucket bucket = chunks.get(chunkKey);
+                if (bucket == null || bucket.active.get(pos) != tick) {
+                    // Refreshed or already cleared since this entry was scheduled.
+                    continue;
+                }
+                if (budget <= 0) {
+                    deferred.add(pos);
+                    continue;
+                }
+                if (chunkKey != currentChunk) {
+                    currentChunk = chunkKey;
+                    loaded = writer.selectChunk(chunkKey);
+                }
+                if (!loaded) {
+                    // Keep the deadline alive until the chunk comes back rather than leaking a lava block.
+                    unloaded.add(pos);
+                    continue;
+                }
+                writer.clear(pos);
+                bucket.active.remove(pos);
+                if (bucket.isEmpty() && !bucket.queued) {
+                    chunks.remove(chunkKey);
+                }
+                budget--;
+            }
+            due.clear();
+        }
+        reschedule(deferred, now + 1);
+        reschedule(unloaded, now + UNLOADED_RETRY);
+        return budget;
+    }
+
+    private void reschedule(LongArrayList positions, long tick) {
+        for (int i = 0, size = positions.size(); i < size; i++) {
+            long pos = positions.getLong(i);
+            chunks.get(chunkKey(pos)).active.put(pos, tick);
+            wheel.schedule(tick, pos);
+        }
+        positions.clear();
+    }
+
+    private int place(long now, int lifetime, int budget, TrailWriter writer) {
+        long expiry = now + lifetime;
+        // Each dirty chunk is visited at most once per tick; chunks that run out of budget go to the back of the queue.
+        int chunksToVisit = dirtyChunks.size();
+        while (budget > 0 && chunksToVisit-- > 0) {
+            long chunkKey = dirtyChunks.dequeueLong();
+            ChunkBucket bucket = chunks.get(chunkKey);
+            if (!writer.selectChunk(chunkKey)) {
+                // Nobody will see placements in an unloaded chunk, so drop them.
+                bucket.pending.clear();
+            }
+            while (budget > 0 && !bucket.pending.isEmpty()) {
+                long pos = bucket.pending.removeFirstLong();
+                boolean active = bucket.active.containsKey(pos);
+                if (active && writer.refresh(pos, lifetime)) {
+                    // Still burning: just push the deadline out, no block write needed.
+                    bucket.active.put(pos, expiry);
+                    wheel.schedule(expiry, pos);
+                    continue;
+                }
+                if (active) {
+                    // The trail block is gone; its old wheel entry goes stale with it.
+                    bucket.active.remove(pos);
+                }
+                if (writer.place(pos)) {
+                    bucket.active.put(pos, expiry);
+                    wheel.schedule(expiry, pos);
+                    budget--;
+                }
+            }
+            if (!bucket.pending.isEmpty()) {
+                dirtyChunks.enqueue(chunkKey);
+            } else {
+                bucket.queued = false;
+                if (bucket.isEmpty()) {
+                    chunks.remove(chunkKey);
+                }
+            }
+        }
+        return budget;
+    }
+
+    private void dropPending() {
+        while (!dirtyChunks.isEmpty()) {
+            long chunkKey = dirtyChunks.dequeueLong();
+            ChunkBucket bucket = chunks.get(chunkKey);
+            bucket.pending.clear();
+            bucket.queued = false;
+            if (bucket.isEmpty()) {
+                chunks.remove(chunkKey);
+            }
+        }
+    }
+
+    // Every active trail as consecutive (pos, deadline) pairs, so the deadlines can be saved with the level.
+    public long[] activeDeadlines() {
+        LongArrayList deadlines = new LongArrayList();
+        for (ChunkBucket bucket : chunks.values()) {
+            for (Long2LongMap.Entry entry : bucket.active.long2LongEntrySet()) {
+                deadlines.add(entry.getLongKey());
+                deadlines.add(entry.getLongValue());
+            }
+        }
+        return deadlines.toLongArray();
+    }
+
+    // Re-schedules deadlines saved by activeDeadlines. Overdue trails expire on the next tick, and deadlines further out
+    // than the wheel can hold (e.g. after the game time was changed) are pulled in to the longest lifetime.
+    public void restore(long[] deadlines, long now) {
+        if (lastTick == Long.MIN_VALUE) {
+            lastTick = now;
+        }
+        for (int i = 0; i + 1 < deadlines.length; i += 2) {
+            long pos = deadlines[i];
+            long deadline = Math.max(now + 1, Math.min(deadlines[i + 1], now + MAX_LIFETIME));
+            bucket(chunkKey(pos)).active.put(pos, deadline);
+            wheel.schedule(deadline, pos);
+        }
+    }
+
+    public void clear() {
+        chunks.clear();
+        dirtyChunks.clear();
+        wheel.clear();
+        lastTick = Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,45 @@
+package net.romeuepote.zombiedelava.trail;
+
+import com.mojang.serialization.Codec;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.saveddata.SavedDataType;
+import net.romeuepote.zombiedelava.ZombieDeLava;
+
+import java.util.stream.LongStream;
+
+// Saves the decay deadlines of a level's active lava trails with the level, so trail blocks that were still burning
+// when the level was saved are removed after a restart instead of staying in the world for good. Deadlines are absolute
+// game times, which are saved with the level as well.
+final class TrailSavedData extends SavedData {
+    static final SavedDataType<TrailSavedData> TYPE = new SavedDataType<>(
+            ZombieDeLava.MOD_ID + "_trails",
+            TrailSavedData::new,
+            Codec.LONG_STREAM.fieldOf("deadlines").xmap(deadlines -> new TrailSavedData(deadlines.toArray()), TrailSavedData::deadlines).codec(),
+            // Nothing to fix up: the format is ours and holds only packed positions and game times.
+            null);
+
+    private long[] loaded;
+    private TrailQueue queue;
+
+    private TrailSavedData() {
+        this(new long[0]);
+    }
+
+    private TrailSavedData(long[] loaded) {
+        this.loaded = loaded;
+    }
+
+    static TrailSavedData attach(ServerLevel level, TrailQueue queue) {
+        TrailSavedData data = level.getDataStorage().computeIfAbsent(TYPE);
+        queue.restore(data.loaded, level.getGameTime());
+        data.loaded = null;
+        // From now on saving reads the live queue.
+        data.queue = queue;
+        return data;
+    }
+
+    private LongStream deadlines() {
+        return LongStream.of(queue != null ? queue.activeDeadlines() : loaded);
+    }
+}
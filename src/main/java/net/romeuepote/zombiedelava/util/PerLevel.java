@@ -0,0 +1,42 @@
+package net.romeuepote.zombiedelava.util;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraftforge.event.level.LevelEvent;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+// Holds one instance of a subsystem's state per ServerLevel, created on first use and dropped when the level unloads.
+// Only ever touched from the server thread, so no synchronization is needed.
+public final class PerLevel<T> {
+    private final Reference2ObjectOpenHashMap<ServerLevel, T> states = new Reference2ObjectOpenHashMap<>();
+    private final Function<ServerLevel, T> factory;
+
+    public PerLevel(Function<ServerLevel, T> factory) {
+        this.factory = factory;
+    }
+
+    public T get(ServerLevel level) {
+        T state = states.get(level);
+        if (state == null) {
+            state = factory.apply(level);
+            states.put(level, state);
+        }
+        return state;
+    }
+
+    public T getIfPresent(ServerLevel level) {
+        return states.get(level);
+    }
+
+    public Collection<T> values() {
+        return states.values();
+    }
+
+    public void onUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            states.remove(level);
+        }
+    }
+}
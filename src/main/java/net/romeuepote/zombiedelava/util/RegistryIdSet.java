@@ -0,0 +1,61 @@
+package net.romeuepote.zombiedelava.util;
+
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+// Immutable set of registry entries stored as a bitset over their numeric registry ids. Membership is a single array
+// read, with no hashing or boxing, which makes it safe to consult per entity or per block in tick code.
+public final class RegistryIdSet {
+    public static final RegistryIdSet EMPTY = new RegistryIdSet(new long[0], 0);
+
+    private final long[] words;
+    private final int size;
+
+    private RegistryIdSet(long[] words, int size) {
+        this.words = words;
+        this.size = size;
+    }
+
+    public static <T> RegistryIdSet compile(List<? extends String> names, Registry<T> registry) {
+        return compile(names, location -> registry.getOptional(location).map(registry::getId).orElse(-1));
+    }
+
+    // Names that do not parse or do not resolve (lookup returns a negative id) are skipped.
+    public static RegistryIdSet compile(List<? extends String> names, ToIntFunction<ResourceLocation> lookup) {
+        long[] words = new long[0];
+        int size = 0;
+        for (String name : names) {
+            ResourceLocation location = ResourceLocation.tryParse(name);
+            int id = location == null ? -1 : lookup.applyAsInt(location);
+            if (id < 0) {
+                continue;
+            }
+            int word = id >>> 6;
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, word + 1);
+            }
+            if ((words[word] & 1L << id) == 0) {
+                words[word] |= 1L << id;
+                size++;
+            }
+        }
+        return size == 0 ? EMPTY : new RegistryIdSet(words, size);
+    }
+
+    public boolean contains(int id) {
+        int word = id >>> 6;
+        return word < words.length && (words[word] & 1L << id) != 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}